@@ -0,0 +1,346 @@
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Class ConcurrentDoublyLinkedList: implements the stack and queue API of DoublyLinkedList as a
+ * *generic* lock-free deque, which any number of threads can use at once without locking.
+ * @param <T> This is a type parameter. T is used as a class name in the
+ * definition of this class.
+ *
+ * This is Michael's CAS-based deque ("CAS-Based Lock-Free Algorithm for Shared Deques", 2003).
+ * The nodes form a doubly linked list, and the first and last nodes are held together in an
+ * immutable anchor with a status, which is swapped atomically by compareAndSet(). Pushing a node
+ * takes two steps: the anchor is swapped to include the new node with a status saying which end
+ * is unfinished, and then the old end node is linked back to the new one and the anchor is marked
+ * stable again. Any thread which finds an unstable anchor finishes the push itself before
+ * carrying on, so no thread ever waits for another.
+ *
+ * A new anchor is allocated for every change, so the anchors compared by compareAndSet() are
+ * never reused (the ABA problem is avoided by the garbage collector, which the paper handles with
+ * tags instead).
+ *
+ * The front of the list is the left end: push() and pop() use it, enqueue() adds to the right
+ * end and dequeue() removes from the left, as in DoublyLinkedList, and popLast() removes from the
+ * right. size() is maintained separately from the anchor, so it is only approximate while other
+ * threads are changing the list.
+ *
+ * @author Jack O'Sullivan
+ * @version 17/10/18 11:24:40
+ */
+class ConcurrentDoublyLinkedList<T extends Comparable<T>> {
+	private static final int STABLE = 0;
+	// A node has been pushed on the left and the old left node doesn't link back to it yet
+	private static final int LEFT_PUSH = 1;
+	// As LEFT_PUSH, for the right
+	private static final int RIGHT_PUSH = 2;
+
+	/**
+	 * private class Node: a node of the deque, whose links are updated with compareAndSet().
+	 */
+	private static class Node<T> {
+		final T data;
+		volatile Node<T> left, right;
+
+		Node(T data) {
+			this.data = data;
+		}
+	}
+
+	/**
+	 * private class Anchor: the end nodes of the deque (both null if it is empty) and its status.
+	 */
+	private static class Anchor<T> {
+		final Node<T> left, right;
+		final int status;
+
+		Anchor(Node<T> left, Node<T> right, int status) {
+			this.left = left;
+			this.right = right;
+			this.status = status;
+		}
+	}
+
+	// Updaters for the links, rather than an AtomicReference per link, to keep nodes small
+	@SuppressWarnings("rawtypes")
+	private static final AtomicReferenceFieldUpdater<Node, Node> LEFT =
+			AtomicReferenceFieldUpdater.newUpdater(Node.class, Node.class, "left");
+	@SuppressWarnings("rawtypes")
+	private static final AtomicReferenceFieldUpdater<Node, Node> RIGHT =
+			AtomicReferenceFieldUpdater.newUpdater(Node.class, Node.class, "right");
+
+	private final AtomicReference<Anchor<T>> anchor = new AtomicReference<>(new Anchor<T>(null, null, STABLE));
+	// Incremented after each push and decremented after each pop, so it can briefly lag behind
+	private final AtomicInteger size = new AtomicInteger();
+
+	/**
+	 * Get the number of elements in the list. While other threads are pushing or popping, this
+	 * may not include all of their changes.
+	 *
+	 * Worst-case asymptotic running time cost: Θ(1)
+	 *
+	 * Justification: Reading a value from is Θ(1)
+	 *
+	 * @return the number of elements
+	 */
+	public int size() {
+		// A pop can decrement the count before the matching push has incremented it
+		return Math.max(0, size.get());
+	}
+
+	/**
+	 * Tests if the list is empty. Unlike size(), this is exact at the moment it is read.
+	 * @return true if list is empty, and false otherwise
+	 *
+	 * Worst-case asymptotic running time cost: Θ(1)
+	 *
+	 * Justification: Reading the anchor is Θ(1)
+	 */
+	public boolean isEmpty() {
+		return anchor.get().left == null;
+	}
+
+	/**
+	 * Finishes the push recorded in an unstable anchor.
+	 *
+	 * Worst-case asymptotic running time cost: Θ(1)
+	 *
+	 * Justification: At most one link and the anchor are updated
+	 */
+	private void stabilize(Anchor<T> current) {
+		if (current.status == LEFT_PUSH) {
+			stabilizeLeft(current);
+		} else {
+			stabilizeRight(current);
+		}
+	}
+
+	private void stabilizeLeft(Anchor<T> current) {
+		Node<T> next = current.left.right;
+		if (anchor.get() != current) {
+			return;
+		}
+		Node<T> nextLeft = next.left;
+		if (nextLeft != current.left) {
+			// If the anchor has changed since, another thread has already linked the node
+			if (anchor.get() != current || !LEFT.compareAndSet(next, nextLeft, current.left)) {
+				return;
+			}
+		}
+		anchor.compareAndSet(current, new Anchor<>(current.left, current.right, STABLE));
+	}
+
+	private void stabilizeRight(Anchor<T> current) {
+		Node<T> prev = current.right.left;
+		if (anchor.get() != current) {
+			return;
+		}
+		Node<T> prevRight = prev.right;
+		if (prevRight != current.right) {
+			if (anchor.get() != current || !RIGHT.compareAndSet(prev, prevRight, current.right)) {
+				return;
+			}
+		}
+		anchor.compareAndSet(current, new Anchor<>(current.left, current.right, STABLE));
+	}
+
+	/**
+	 * Adds an element at the left end of the list.
+	 *
+	 * Worst-case asymptotic running time cost: Θ(1) per attempt
+	 *
+	 * Justification:
+	 *  Each attempt takes Θ(1), and only fails if another thread's operation succeeded, so some
+	 *  thread always makes progress (the operation is lock-free, but not wait-free)
+	 */
+	private void pushLeft(T item) {
+		Node<T> node = new Node<>(item);
+		while (true) {
+			Anchor<T> current = anchor.get();
+			if (current.left == null) {
+				if (anchor.compareAndSet(current, new Anchor<>(node, node, STABLE))) {
+					break;
+				}
+			} else if (current.status == STABLE) {
+				node.right = current.left;
+				Anchor<T> pushed = new Anchor<>(node, current.right, LEFT_PUSH);
+				if (anchor.compareAndSet(current, pushed)) {
+					stabilizeLeft(pushed);
+					break;
+				}
+			} else {
+				stabilize(current);
+			}
+		}
+		size.incrementAndGet();
+	}
+
+	/**
+	 * Adds an element at the right end of the list, as pushLeft() does.
+	 */
+	private void pushRight(T item) {
+		Node<T> node = new Node<>(item);
+		while (true) {
+			Anchor<T> current = anchor.get();
+			if (current.right == null) {
+				if (anchor.compareAndSet(current, new Anchor<>(node, node, STABLE))) {
+					break;
+				}
+			} else if (current.status == STABLE) {
+				node.left = current.right;
+				Anchor<T> pushed = new Anchor<>(current.left, node, RIGHT_PUSH);
+				if (anchor.compareAndSet(current, pushed)) {
+					stabilizeRight(pushed);
+					break;
+				}
+			} else {
+				stabilize(current);
+			}
+		}
+		size.incrementAndGet();
+	}
+
+	/**
+	 * Removes the element at the left end of the list.
+	 * @return the element, or null if the list is empty
+	 *
+	 * Worst-case asymptotic running time cost: Θ(1) per attempt
+	 *
+	 * Justification: See pushLeft()
+	 */
+	private T popLeft() {
+		Anchor<T> current;
+		Node<T> next;
+		while (true) {
+			current = anchor.get();
+			if (current.left == null) {
+				return null;
+			}
+			if (current.left == current.right) {
+				next = null;
+				if (anchor.compareAndSet(current, new Anchor<T>(null, null, STABLE))) {
+					break;
+				}
+			} else if (current.status == STABLE) {
+				// The links are all in place while the anchor is stable
+				next = current.left.right;
+				if (anchor.compareAndSet(current, new Anchor<>(next, current.right, STABLE))) {
+					break;
+				}
+			} else {
+				stabilize(current);
+			}
+		}
+		size.decrementAndGet();
+
+		if (next != null) {
+			// Unlink the removed node so that a queue doesn't keep every dequeued node reachable.
+			// This fails harmlessly if a push has already linked a new node in its place
+			LEFT.compareAndSet(next, current.left, null);
+		}
+		return current.left.data;
+	}
+
+	/**
+	 * Removes the element at the right end of the list, as popLeft() does.
+	 */
+	private T popRight() {
+		Anchor<T> current;
+		Node<T> prev;
+		while (true) {
+			current = anchor.get();
+			if (current.right == null) {
+				return null;
+			}
+			if (current.left == current.right) {
+				prev = null;
+				if (anchor.compareAndSet(current, new Anchor<T>(null, null, STABLE))) {
+					break;
+				}
+			} else if (current.status == STABLE) {
+				prev = current.right.left;
+				if (anchor.compareAndSet(current, new Anchor<>(current.left, prev, STABLE))) {
+					break;
+				}
+			} else {
+				stabilize(current);
+			}
+		}
+		size.decrementAndGet();
+
+		if (prev != null) {
+			RIGHT.compareAndSet(prev, current.right, null);
+		}
+		return current.right.data;
+	}
+
+	/*----------------------- STACK API
+	 * If only the push and pop methods are called the data structure should behave like a stack.
+	 */
+
+	/**
+	 * This method adds an element to the data structure.
+	 * @param item : the item to push on the stack
+	 *
+	 * Worst-case asymptotic running time cost: Θ(1) per attempt
+	 *
+	 * Justification: See pushLeft()
+	 */
+	public void push(T item) {
+		pushLeft(item);
+	}
+
+	/**
+	 * This method returns and removes the element that was most recently added by the push method.
+	 * @return the last item inserted with a push; or null when the list is empty.
+	 *
+	 * Worst-case asymptotic running time cost: Θ(1) per attempt
+	 *
+	 * Justification: See pushLeft()
+	 */
+	public T pop() {
+		return popLeft();
+	}
+
+	/**
+	 * This method returns and removes the element at the other end of the list from pop(), i.e.
+	 * the element most recently added by the enqueue method (or the earliest one pushed).
+	 * @return the last item in the list; or null when the list is empty.
+	 *
+	 * Worst-case asymptotic running time cost: Θ(1) per attempt
+	 *
+	 * Justification: See pushLeft()
+	 */
+	public T popLast() {
+		return popRight();
+	}
+
+	/*----------------------- QUEUE API
+	 * If only the enqueue and dequeue methods are called the data structure should behave like a FIFO queue.
+	 */
+
+	/**
+	 * This method adds an element to the data structure.
+	 * @param item : the item to be enqueued to the stack
+	 *
+	 * Worst-case asymptotic running time cost: Θ(1) per attempt
+	 *
+	 * Justification: See pushLeft()
+	 */
+	public void enqueue(T item) {
+		pushRight(item);
+	}
+
+	/**
+	 * This method returns and removes the element that was least recently added by the enqueue method.
+	 * @return the earliest item inserted with an equeue; or null when the list is empty.
+	 *
+	 * Worst-case asymptotic running time cost: Θ(1) per attempt
+	 *
+	 * Justification:
+	 *   This method delegates to pop() since the functionality is the same
+	 */
+	public T dequeue() {
+		return pop();
+	}
+}
@@ -1,3 +1,13 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
 /**
  * This class contains the methods of Doubly Linked List.
  *
@@ -25,13 +35,13 @@
  * to be tested by your jUnit tests -- for simplicity in jUnit testing
  * introduce only public methods.
  */
-class DoublyLinkedList<T extends Comparable<T>> {
+class DoublyLinkedList<T extends Comparable<T>> implements PositionalList<T> {
 	/**
 	 * private class DLLNode: implements a *generic* Doubly Linked List node.
 	 */
 	private class DLLNode {
-		final T data; // this field should never be updated. It gets its
-		// value once from the constructor DLLNode.
+		// Only updated by Cursor.set(), or when the node is recycled by the node pool (see newNode())
+		T data;
 		DLLNode next;
 		DLLNode prev;
 
@@ -51,6 +61,177 @@ class DoublyLinkedList<T extends Comparable<T>> {
 	// Fields head and tail point to the first and last nodes of the list.
 	private DLLNode head, tail;
 	private int size;
+	// If set, the list runs from head to tail along the nodes' prev links rather than their next
+	// links, so that reverse() only has to flip it. Only nextOf() and prevOf() (and their setters)
+	// read the links directly. Only set in lazy reverse mode.
+	private boolean reversed;
+	private final boolean lazyReverse;
+
+	// Deleted nodes kept for reuse by newNode(), linked through their next fields
+	private DLLNode pool;
+	private int poolSize;
+	private final int poolCapacity;
+	private long poolHits, poolMisses;
+	// Incremented by every structural change, so that a Cursor can detect changes it didn't make
+	private int modCount;
+
+	/**
+	 * Creates an empty list without a node pool, so every insertion allocates a node.
+	 */
+	DoublyLinkedList() {
+		this(0);
+	}
+
+	/**
+	 * Creates an empty list which keeps up to poolCapacity deleted nodes for reuse by later
+	 * insertions, so that a list whose size stays below some bound (e.g. a queue with as many
+	 * enqueues as dequeues) stops allocating once the pool has filled up.
+	 * @param poolCapacity : the maximum number of nodes to keep, or 0 to disable the pool
+	 */
+	DoublyLinkedList(int poolCapacity) {
+		this(poolCapacity, false);
+	}
+
+	/**
+	 * Creates an empty list with a node pool (see DoublyLinkedList(int)), optionally in lazy
+	 * reverse mode.
+	 *
+	 * In lazy reverse mode, reverse() only flips an orientation bit which every traversal
+	 * interprets, so it takes Θ(1) instead of Θ(n). The cost moves to spliceAt() and append():
+	 * splicing together two lists whose orientations differ must first swap the links of the
+	 * shorter one. Lists which reverse often, and which are rarely spliced with lists in the
+	 * other orientation, should use it.
+	 * @param poolCapacity : the maximum number of nodes to keep, or 0 to disable the pool
+	 * @param lazyReverse : whether reverse() should only flip the orientation of the list
+	 */
+	DoublyLinkedList(int poolCapacity, boolean lazyReverse) {
+		if (poolCapacity < 0) {
+			throw new IllegalArgumentException("poolCapacity must not be negative");
+		}
+		this.poolCapacity = poolCapacity;
+		this.lazyReverse = lazyReverse;
+	}
+
+	/**
+	 * @return the number of insertions which reused a node from the pool.
+	 */
+	public long poolHits() {
+		return poolHits;
+	}
+
+	/**
+	 * @return the number of insertions which had to allocate a node because the pool was empty.
+	 * If this keeps growing once the list has reached a steady state, the pool is too small.
+	 */
+	public long poolMisses() {
+		return poolMisses;
+	}
+
+	/**
+	 * @return the node after node in the list, or null if it is the last one.
+	 */
+	private DLLNode nextOf(DLLNode node) {
+		return reversed ? node.prev : node.next;
+	}
+
+	/**
+	 * @return the node before node in the list, or null if it is the first one.
+	 */
+	private DLLNode prevOf(DLLNode node) {
+		return reversed ? node.next : node.prev;
+	}
+
+	private void setNextOf(DLLNode node, DLLNode next) {
+		if (reversed) {
+			node.prev = next;
+		} else {
+			node.next = next;
+		}
+	}
+
+	private void setPrevOf(DLLNode node, DLLNode prev) {
+		if (reversed) {
+			node.next = prev;
+		} else {
+			node.prev = prev;
+		}
+	}
+
+	/**
+	 * Swaps the prev and next links of every node, if needed, so that the list is in the given
+	 * orientation. The order of the elements is unchanged.
+	 *
+	 * Worst-case asymptotic running time cost: Θ(n)
+	 *
+	 * Justification: Every node's links may have to be swapped
+	 */
+	private void orient(boolean reversed) {
+		if (this.reversed != reversed) {
+			swapLinks();
+			this.reversed = reversed;
+		}
+	}
+
+	/**
+	 * Swaps the prev and next links of every node.
+	 *
+	 * Worst-case asymptotic running time cost: Θ(n)
+	 *
+	 * Justification: Each node is visited once
+	 */
+	private void swapLinks() {
+		DLLNode next;
+		for (DLLNode current = head; current != null; current = next) {
+			next = nextOf(current);
+			DLLNode tmp = current.next;
+			current.next = current.prev;
+			current.prev = tmp;
+		}
+	}
+
+	/**
+	 * Creates a node, reusing one from the pool if it isn't empty
+	 *
+	 * Worst-case asymptotic running time cost: Θ(1)
+	 *
+	 * Justification: The pool is a stack, so taking a node from it is Θ(1), as is allocating one
+	 */
+	private DLLNode newNode(T data, DLLNode prevNode, DLLNode nextNode) {
+		DLLNode node;
+		if (pool == null) {
+			poolMisses++;
+			node = new DLLNode(data, null, null);
+		} else {
+			node = pool;
+			pool = node.next;
+			poolSize--;
+			poolHits++;
+			node.data = data;
+		}
+		setPrevOf(node, prevNode);
+		setNextOf(node, nextNode);
+		return node;
+	}
+
+	/**
+	 * Returns a node which has been deleted from the list to the pool, unless the pool is full.
+	 * The node's data is cleared so that the pool doesn't keep it reachable, and its next field is
+	 * overwritten (whatever the orientation of the list), so it must no longer be in use.
+	 *
+	 * Worst-case asymptotic running time cost: Θ(1)
+	 *
+	 * Justification: Pushing a node onto the pool is Θ(1)
+	 */
+	private void recycle(DLLNode node) {
+		if (poolSize == poolCapacity) {
+			return;
+		}
+		node.data = null;
+		node.prev = null;
+		node.next = pool;
+		pool = node;
+		poolSize++;
+	}
 
 	/**
 	 * Get the number of elements in the linked list
@@ -87,6 +268,7 @@ class DoublyLinkedList<T extends Comparable<T>> {
 	public void clear() {
 		head = tail = null;
 		size = 0;
+		modCount++;
 	}
 
 
@@ -114,12 +296,12 @@ class DoublyLinkedList<T extends Comparable<T>> {
 		if (backwards) {
 			current = tail;
 			for (int i = size - 1; i != pos; i--) {
-				current = current.prev;
+				current = prevOf(current);
 			}
 		} else {
 			current = head;
 			for (int i = 0; i != pos; i++) {
-				current = current.next;
+				current = nextOf(current);
 			}
 		}
 		return current;
@@ -144,28 +326,45 @@ class DoublyLinkedList<T extends Comparable<T>> {
 			pos = 0;
 		}
 
-		if (pos >= size) {
-			DLLNode toInsert = new DLLNode(data, tail, null);
+		linkBefore(pos >= size ? null : getNode(pos), data);
+	}
+
+	/**
+	 * Inserts an element before the node provided
+	 * @param before : the node to insert before, or null to insert at the end of the list
+	 * @param data : the data to insert
+	 * @return the new node
+	 *
+	 * Worst-case asymptotic running time cost: Θ(1)
+	 *
+	 * Justification:
+	 *  Since this method merely manipulates the links of the neighbouring elements
+	 *  of an already located provided node, Θ(1) is achieved
+	 */
+	private DLLNode linkBefore(DLLNode before, T data) {
+		DLLNode toInsert;
+		if (before == null) {
+			toInsert = newNode(data, tail, null);
 			if (tail != null) {
-				tail.next = toInsert;
+				setNextOf(tail, toInsert);
 			} else {
 				head = toInsert;
 			}
 			tail = toInsert;
 		} else {
-			DLLNode before = getNode(pos);
-			DLLNode toInsert = new DLLNode(data, before.prev, before);
-
-            if (before.prev != null) {
-                before.prev.next = toInsert;
-            }
-            before.prev = toInsert;
-			if (pos == 0) {
+			DLLNode after = prevOf(before);
+			toInsert = newNode(data, after, before);
+			if (after != null) {
+				setNextOf(after, toInsert);
+			} else {
 				head = toInsert;
 			}
+			setPrevOf(before, toInsert);
 		}
 
-	    size++;
+		size++;
+		modCount++;
+		return toInsert;
 	}
 
 	/**
@@ -193,18 +392,20 @@ class DoublyLinkedList<T extends Comparable<T>> {
 	 *  of an already located provided node, Θ(1) is achieved
 	 */
 	private void deleteNode(DLLNode toDelete) {
+		DLLNode prev = prevOf(toDelete), next = nextOf(toDelete);
 		if (toDelete != head) {
-			toDelete.prev.next = toDelete.next;
+			setNextOf(prev, next);
 		} else {
-			head = toDelete.next;
+			head = next;
 		}
 		if (toDelete != tail) {
-			toDelete.next.prev = toDelete.prev;
+			setPrevOf(next, prev);
 		} else {
-			tail = toDelete.prev;
+			tail = prev;
 		}
 
 		size--;
+		modCount++;
 	}
 	/**
 	 * Deletes the element of the list at position pos.
@@ -224,40 +425,147 @@ class DoublyLinkedList<T extends Comparable<T>> {
 			return false;
 		}
 
-		deleteNode(getNode(pos));
+		DLLNode toDelete = getNode(pos);
+		deleteNode(toDelete);
+		recycle(toDelete);
 		return true;
 	}
 
 	/**
-	 * Reverses the list.
-	 * If the list contains "A", "B", "C", "D" before the method is called
-	 * Then it should contain "D", "C", "B", "A" after it returns.
+	 * Moves all of the elements of another list to the end of this one, leaving the other list empty.
+	 * @param other : the list to take the elements from, which must not be this list
 	 *
-	 * Worst-case asymptotic running time cost: Θ(n)
+	 * Worst-case asymptotic running time cost: Θ(1), unless the lists are in lazy reverse mode and
+	 * have opposite orientations
 	 *
-	 * Justification:
-	 *  The entire list must be traversed in order to swap the prev and next
-	 *  links, requiring Θ(n)
+	 * Justification: See spliceAt(), which takes Θ(1) at the end of the list
+	 */
+	public void append(DoublyLinkedList<T> other) {
+		spliceAt(size, other);
+	}
+
+	/**
+	 * Moves all of the elements of another list into this one before a particular position,
+	 * leaving the other list empty. The nodes themselves are moved, so no elements are copied.
+	 * @param pos : the position to insert the elements before, treated as in insertBefore()
+	 * @param other : the list to take the elements from, which must not be this list
+	 *
+	 * Worst-case asymptotic running time cost: Θ(n), or Θ(1) at either end of the list
 	 *
-	 *  Note that if this method merely switched a flag (e.g. "reversed") when called,
-	 *  any traversing the list could start from the end of the list if the flag was
-	 *  set (at no increase to the worst-case asymptotic running time cost) and this
-	 *  method would then take Θ(1)
+	 * Justification:
+	 *  The node at pos is found with getNode(), which takes Θ(n) (or Θ(1) at either end). Only
+	 *  the links at either end of the other list and around pos are then changed, which takes
+	 *  Θ(1) however many elements are moved. Only lists in lazy reverse mode (see
+	 *  DoublyLinkedList(int, boolean)) are ever left reversed. If one of the lists has been and
+	 *  the other hasn't, the links of one of them must first be swapped with orient() so that
+	 *  they run in the same direction: the shorter one if both are in lazy reverse mode, and
+	 *  otherwise the one which is, so that the other stays unreversed. That adds Θ(min(n, m)),
+	 *  where m is the size of the other list, or the size of the list in lazy reverse mode
 	 */
-	public void reverse() {
-		if (isEmpty()) {
+	public void spliceAt(int pos, DoublyLinkedList<T> other) {
+		if (other == this) {
+			throw new IllegalArgumentException("Can't splice a list into itself");
+		}
+		if (other.isEmpty()) {
 			return;
 		}
+		pos = Math.max(0, Math.min(pos, size));
+		if (other.reversed != reversed) {
+			if (!lazyReverse || (other.lazyReverse && other.size <= size)) {
+				other.orient(reversed);
+			} else {
+				orient(other.reversed);
+			}
+		}
 
-		for (DLLNode current = head; current != null; current = current.prev) {
-			DLLNode tmp = current.next;
-			current.next = current.prev;
-			current.prev = tmp;
+		DLLNode first = other.head, last = other.tail;
+		DLLNode before = pos == size ? null : getNode(pos);
+		DLLNode after = before == null ? tail : prevOf(before);
+		setPrevOf(first, after);
+		setNextOf(last, before);
+		if (after != null) {
+			setNextOf(after, first);
+		} else {
+			head = first;
+		}
+		if (before != null) {
+			setPrevOf(before, last);
+		} else {
+			tail = last;
+		}
+		size += other.size;
+		modCount++;
+
+		other.head = other.tail = null;
+		other.size = 0;
+		other.reversed = false;
+		other.modCount++;
+	}
+
+	/**
+	 * Splits the list in two, moving the elements from a particular position onwards to a new list.
+	 * The nodes themselves are moved, so no elements are copied.
+	 * @param pos : the position of the first element to move. If pos is less than 0 then every
+	 *      element is moved, and if it is greater than or equal to the size of the list then none are.
+	 * @return a new list (with the same node pool capacity and reverse mode as this one) of the
+	 * elements from pos onwards, in order
+	 *
+	 * Worst-case asymptotic running time cost: Θ(n), or Θ(1) at either end of the list
+	 *
+	 * Justification:
+	 *  The node at pos is found with getNode(), which takes Θ(n) (or Θ(1) at either end). The list
+	 *  is then cut by changing the links on either side of it, and the sizes of both lists follow
+	 *  from pos, which takes Θ(1)
+	 */
+	public DoublyLinkedList<T> splitAt(int pos) {
+		DoublyLinkedList<T> split = new DoublyLinkedList<>(poolCapacity, lazyReverse);
+		pos = Math.max(0, pos);
+		if (pos >= size) {
+			return split;
 		}
 
+		DLLNode first = getNode(pos);
+		split.head = first;
+		split.tail = tail;
+		split.size = size - pos;
+		split.reversed = reversed;
+		tail = prevOf(first);
+		if (tail != null) {
+			setNextOf(tail, null);
+		} else {
+			head = null;
+		}
+		setPrevOf(first, null);
+		size = pos;
+		modCount++;
+		return split;
+	}
+
+	/**
+	 * Reverses the list.
+	 * If the list contains "A", "B", "C", "D" before the method is called
+	 * Then it should contain "D", "C", "B", "A" after it returns.
+	 *
+	 * Worst-case asymptotic running time cost: Θ(n), or Θ(1) in lazy reverse mode
+	 *
+	 * Justification:
+	 *  The prev and next links of every node are swapped, and so are head and tail. In lazy
+	 *  reverse mode (see DoublyLinkedList(int, boolean)), rather than swapping the links, this
+	 *  method flips the orientation of the list, so that every traversal follows the prev links
+	 *  where it would have followed the next links and vice versa (see nextOf() and prevOf()).
+	 *  That costs a check of the flag per link followed, which doesn't change the asymptotic
+	 *  running time cost of any other method except spliceAt()
+	 */
+	public void reverse() {
+		if (lazyReverse) {
+			reversed = !reversed;
+		} else {
+			swapLinks();
+		}
 		DLLNode tmp = head;
 		head = tail;
 		tail = tmp;
+		modCount++;
 	}
 
 	/**
@@ -267,25 +575,302 @@ class DoublyLinkedList<T extends Comparable<T>> {
 	 * Then it should contain "A", "B", "C", "D" after it returns.
 	 * The relative order of elements in the resulting list should be the same as the starting list.
 	 *
-	 * Worst-case asymptotic running time cost: Θ(n^2)
+	 * Elements are compared with equals() and hashCode(), and nulls are equal to each other. For
+	 * elements whose compareTo() is inconsistent with equals() (e.g. BigDecimal, where 1.0 and 1.00
+	 * compare as equal), use makeUniqueSorted() instead.
+	 *
+	 * Expected asymptotic running time cost: Θ(n)
 	 *
 	 * Justification:
-	 *  Since this list searches linearly for duplicates of each element in the list, a nested loop
-	 *  is used, taking Θ(n^2)
+	 *  Each element is added to a hash set of the elements seen so far, which takes Θ(1) expected
+	 *  time, and deleted with deleteNode() in Θ(1) if it was already there
 	 */
 	public void makeUnique() {
-		for (DLLNode current = head; current != null; current = current.next) {
-			for (DLLNode duplicate = current.next; duplicate != null; duplicate = duplicate.next) {
-			    if (current.data == null && duplicate.data == null) {
-			    	deleteNode(duplicate);
-				} else if (current.data != null && duplicate.data != null && current.data.compareTo(duplicate.data) == 0) {
-			    	deleteNode(duplicate);
+		Set<T> seen = new HashSet<>();
+		DLLNode next;
+		for (DLLNode current = head; current != null; current = next) {
+			// recycle() overwrites the node's links, so read the next one first
+			next = nextOf(current);
+			if (!seen.add(current.data)) {
+				deleteNode(current);
+				recycle(current);
+			}
+		}
+	}
+
+	/**
+	 * Removes all duplicate elements from the list, as makeUnique() does, but comparing elements
+	 * with compareTo() rather than equals(). Nulls are equal to each other.
+	 *
+	 * Worst-case asymptotic running time cost: Θ(n log n)
+	 *
+	 * Justification:
+	 *  The nodes are sorted by their elements with a stable Θ(n log n) sort, so that equal elements
+	 *  are adjacent and in their original order. In each run of equal elements every node after
+	 *  the first is then deleted with deleteNode(), which takes Θ(1)
+	 */
+	public void makeUniqueSorted() {
+		List<DLLNode> nodes = new ArrayList<>(size);
+		for (DLLNode current = head; current != null; current = nextOf(current)) {
+			nodes.add(current);
+		}
+
+		// Collections.sort() is stable, so the first node of each run is the first occurrence
+		Collections.sort(nodes, new Comparator<DLLNode>() {
+			@Override
+			public int compare(DLLNode a, DLLNode b) {
+				if (a.data == null || b.data == null) {
+					return a.data == null ? (b.data == null ? 0 : -1) : 1;
 				}
+				return a.data.compareTo(b.data);
+			}
+		});
+
+		// The first element of the current run, kept separately since recycle() clears the data of
+		// the nodes after it
+		T first = nodes.isEmpty() ? null : nodes.get(0).data;
+		for (int i = 1; i < nodes.size(); i++) {
+			T current = nodes.get(i).data;
+			if (first == null ? current == null : current != null && first.compareTo(current) == 0) {
+				deleteNode(nodes.get(i));
+				recycle(nodes.get(i));
+			} else {
+				first = current;
 			}
 		}
 	}
 
 
+	/*----------------------- CURSOR API
+	 * A cursor edits the list in sequence without seeking to each position.
+	 */
+
+	/**
+	 * Creates a cursor at the start of the list
+	 * @return a cursor whose next() returns the first element
+	 *
+	 * Worst-case asymptotic running time cost: Θ(1)
+	 *
+	 * Justification: No seek is needed to reach the head
+	 */
+	public Cursor cursor() {
+		return new Cursor(head, 0);
+	}
+
+	/**
+	 * Creates a cursor before a particular position
+	 * @param pos : the position of the element which next() should return, or size() to start at the end
+	 * @return the cursor
+	 * @throws IndexOutOfBoundsException if pos is less than 0 or greater than size()
+	 *
+	 * Worst-case asymptotic running time cost: Θ(n)
+	 *
+	 * Justification: The node at pos is found with getNode(), which takes Θ(n)
+	 */
+	public Cursor cursor(int pos) {
+		if (pos < 0 || pos > size) {
+			throw new IndexOutOfBoundsException("Position " + pos + " out of bounds for size " + size);
+		}
+		return new Cursor(getNode(pos), pos);
+	}
+
+	/**
+	 * Class Cursor: a position between two elements of the list (or at either end), which can be
+	 * moved in either direction and edit the list around itself, with the semantics of
+	 * java.util.ListIterator. In particular, remove() and set() act on the element most recently
+	 * returned by next() or previous(), and add() inserts before the cursor.
+	 *
+	 * The cursor holds a reference to the node after it, so every method takes Θ(1). If the list is
+	 * structurally modified other than through the cursor itself (e.g. by insertBefore(), or by
+	 * another cursor), the cursor's next use throws a ConcurrentModificationException rather than
+	 * following links which may no longer be in the list.
+	 */
+	public class Cursor implements ListIterator<T> {
+		// The node after the cursor, or null at the end of the list
+		private DLLNode next;
+		private int nextIndex;
+		// The node most recently returned by next() or previous(), or null if it has been removed
+		// or an element has since been inserted
+		private DLLNode lastReturned;
+		private int expectedModCount = modCount;
+
+		private Cursor(DLLNode next, int nextIndex) {
+			this.next = next;
+			this.nextIndex = nextIndex;
+		}
+
+		private void checkForComodification() {
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+		}
+
+		/**
+		 * @return true if there is an element after the cursor
+		 *
+		 * Worst-case asymptotic running time cost: Θ(1)
+		 */
+		@Override
+		public boolean hasNext() {
+			return nextIndex < size;
+		}
+
+		/**
+		 * Moves the cursor forward over one element
+		 * @return the element passed over
+		 * @throws NoSuchElementException if the cursor is at the end of the list
+		 *
+		 * Worst-case asymptotic running time cost: Θ(1)
+		 *
+		 * Justification: The cursor follows a single link
+		 */
+		@Override
+		public T next() {
+			checkForComodification();
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			lastReturned = next;
+			next = nextOf(next);
+			nextIndex++;
+			return lastReturned.data;
+		}
+
+		/**
+		 * @return true if there is an element before the cursor
+		 *
+		 * Worst-case asymptotic running time cost: Θ(1)
+		 */
+		@Override
+		public boolean hasPrevious() {
+			return nextIndex > 0;
+		}
+
+		/**
+		 * Moves the cursor backward over one element
+		 * @return the element passed over
+		 * @throws NoSuchElementException if the cursor is at the start of the list
+		 *
+		 * Worst-case asymptotic running time cost: Θ(1)
+		 *
+		 * Justification: The cursor follows a single link
+		 */
+		@Override
+		public T previous() {
+			checkForComodification();
+			if (!hasPrevious()) {
+				throw new NoSuchElementException();
+			}
+			next = lastReturned = next == null ? tail : prevOf(next);
+			nextIndex--;
+			return lastReturned.data;
+		}
+
+		/**
+		 * @return the position of the element after the cursor, or size() at the end of the list
+		 */
+		@Override
+		public int nextIndex() {
+			return nextIndex;
+		}
+
+		/**
+		 * @return the position of the element before the cursor, or -1 at the start of the list
+		 */
+		@Override
+		public int previousIndex() {
+			return nextIndex - 1;
+		}
+
+		/**
+		 * Removes the element most recently returned by next() or previous()
+		 * @throws IllegalStateException if there is no such element, or it has already been
+		 * removed, or an element has since been inserted
+		 *
+		 * Worst-case asymptotic running time cost: Θ(1)
+		 *
+		 * Justification: The node is already located, so deleteNode() takes Θ(1)
+		 */
+		@Override
+		public void remove() {
+			checkForComodification();
+			if (lastReturned == null) {
+				throw new IllegalStateException();
+			}
+			if (lastReturned == next) {
+				// Returned by previous(), so the cursor was before it
+				next = nextOf(next);
+			} else {
+				nextIndex--;
+			}
+			deleteNode(lastReturned);
+			recycle(lastReturned);
+			lastReturned = null;
+			expectedModCount = modCount;
+		}
+
+		/**
+		 * Replaces the element most recently returned by next() or previous()
+		 * @param data : the new element
+		 * @throws IllegalStateException if there is no such element, or it has been removed, or
+		 * an element has since been inserted
+		 *
+		 * Worst-case asymptotic running time cost: Θ(1)
+		 */
+		@Override
+		public void set(T data) {
+			checkForComodification();
+			if (lastReturned == null) {
+				throw new IllegalStateException();
+			}
+			lastReturned.data = data;
+		}
+
+		/**
+		 * Inserts an element before the cursor, so that a following next() is unaffected and a
+		 * following previous() returns the new element
+		 * @param data : the element to insert
+		 *
+		 * Worst-case asymptotic running time cost: Θ(1)
+		 *
+		 * Justification: See linkBefore()
+		 */
+		@Override
+		public void add(T data) {
+			checkForComodification();
+			linkBefore(next, data);
+			nextIndex++;
+			lastReturned = null;
+			expectedModCount = modCount;
+		}
+
+		/**
+		 * Inserts an element before the cursor, as add() does
+		 * @param data : the element to insert
+		 *
+		 * Worst-case asymptotic running time cost: Θ(1)
+		 */
+		public void insertBefore(T data) {
+			add(data);
+		}
+
+		/**
+		 * Inserts an element after the cursor, so that a following next() returns the new element
+		 * @param data : the element to insert
+		 *
+		 * Worst-case asymptotic running time cost: Θ(1)
+		 *
+		 * Justification: See linkBefore()
+		 */
+		public void insertAfter(T data) {
+			checkForComodification();
+			next = linkBefore(next, data);
+			lastReturned = null;
+			expectedModCount = modCount;
+		}
+	}
+
+
 	/*----------------------- STACK API
 	 * If only the push and pop methods are called the data structure should behave like a stack.
 	 */
@@ -322,7 +907,10 @@ class DoublyLinkedList<T extends Comparable<T>> {
 
 		DLLNode item = getNode(0);
 		deleteNode(item);
-		return item.data;
+		// recycle() clears the node's data
+		T data = item.data;
+		recycle(item);
+		return data;
 	}
 
 	/*----------------------- QUEUE API
@@ -375,7 +963,7 @@ class DoublyLinkedList<T extends Comparable<T>> {
 		boolean isFirst = true;
 
 		// iterate over the list, starting from the head
-		for (DLLNode iter = head; iter != null; iter = iter.next) {
+		for (DLLNode iter = head; iter != null; iter = nextOf(iter)) {
 			if (!isFirst) {
 				s.append(",");
 			} else {
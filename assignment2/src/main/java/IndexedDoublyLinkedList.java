@@ -0,0 +1,589 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Class IndexedDoublyLinkedList: implements a *generic* Doubly Linked List with the same API as
+ * DoublyLinkedList, but whose positional operations (get, insertBefore and deleteAt) take
+ * Θ(log n) expected time instead of Θ(n).
+ * @param <T> This is a type parameter. T is used as a class name in the
+ * definition of this class.
+ *
+ * The list is an indexable skip list. Every node is on level 0, which is an ordinary doubly linked
+ * list, and a random number of levels above it (on average 2 in total), each of which is a singly
+ * linked list that skips over the nodes of lower height. Each link records its width, the number
+ * of positions it skips, so a position is found by descending through the levels in Θ(log n)
+ * expected steps, as in a binary search.
+ *
+ * Inserting at or removing from either end would normally have to update the widths of the
+ * head's links on every level. Instead, the widths of the head's links (and the positions of the
+ * last node on each level) are stored relative to an offset, which is adjusted once per operation
+ * at the front of the list; only the links of the new or removed node itself are updated, so
+ * push, pop, enqueue and dequeue take Θ(1) expected time.
+ *
+ * @author Jack O'Sullivan
+ * @version 15/10/18 10:51:37
+ */
+class IndexedDoublyLinkedList<T extends Comparable<T>> implements PositionalList<T> {
+	// Enough levels for 2^32 elements
+	private static final int MAX_LEVEL = 32;
+
+	/**
+	 * private class Node: a node on levels [0, height) of the skip list.
+	 */
+	private static class Node<T> {
+		final T data;
+		final Node<T>[] next;
+		// width[l] is the difference between the positions of next[l] and this node
+		final int[] width;
+		// The previous node on level 0, or null for the first node
+		Node<T> prev;
+
+		Node(T data, int height) {
+			this.data = data;
+			next = array(height);
+			width = new int[height];
+		}
+
+		/**
+		 * @return a new array of n (null) links, since arrays of a generic type can't be created directly.
+		 */
+		@SuppressWarnings("unchecked")
+		static <T> Node<T>[] array(int n) {
+			return (Node<T>[])new Node<?>[n];
+		}
+	}
+
+	// A sentinel before the first node (at position -1), with links on every level
+	private final Node<T> head = new Node<>(null, MAX_LEVEL);
+	// The width of head's link on level l is headWidth[l] + offset
+	private final int[] headWidth = new int[MAX_LEVEL];
+	// The last node on each level, or head if the level is empty
+	private final Node<T>[] last;
+	// The position of last[l] is lastPosition[l] + offset, unless it is head
+	private final int[] lastPosition = new int[MAX_LEVEL];
+	// Incremented when an element is inserted at the front, and decremented when one is removed
+	private int offset;
+	// The number of levels which have been used since the list was last cleared
+	private int levels;
+	private int size;
+	// State of the xorshift generator for node heights
+	private int seed = 0x2545F491;
+
+	IndexedDoublyLinkedList() {
+		last = Node.array(MAX_LEVEL);
+		clear();
+	}
+
+	private int width(Node<T> node, int level) {
+		return node == head ? headWidth[level] + offset : node.width[level];
+	}
+
+	private void setWidth(Node<T> node, int level, int width) {
+		if (node == head) {
+			headWidth[level] = width - offset;
+		} else {
+			node.width[level] = width;
+		}
+	}
+
+	private int lastPosition(int level) {
+		return last[level] == head ? -1 : lastPosition[level] + offset;
+	}
+
+	private void setLast(int level, Node<T> node, int pos) {
+		last[level] = node;
+		lastPosition[level] = pos - offset;
+	}
+
+	/**
+	 * @return a random height, which is h with probability 1/2^h.
+	 */
+	private int randomHeight() {
+		seed ^= seed << 13;
+		seed ^= seed >>> 17;
+		seed ^= seed << 5;
+		int height = Integer.numberOfTrailingZeros(seed) + 1;
+		levels = Math.max(levels, height);
+		return height;
+	}
+
+	/**
+	 * Get the number of elements in the linked list
+	 *
+	 * Worst-case asymptotic running time cost: Θ(1)
+	 *
+	 * Justification: Reading a value from is Θ(1)
+	 *
+	 * @return the number of elements
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Tests if the doubly linked list is empty
+	 * @return true if list is empty, and false otherwise
+	 *
+	 * Worst-case asymptotic running time cost: Θ(1)
+	 *
+	 * Justification: size() takes Θ(1), as do comparisons
+	 */
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	/**
+	 * Remove all elements in the linked list
+	 *
+	 * Worst-case asymptotic running time cost: Θ(1)
+	 *
+	 * Justification: The head has a constant number (MAX_LEVEL) of links to reset
+	 */
+	public void clear() {
+		for (int l = 0; l < MAX_LEVEL; l++) {
+			head.next[l] = null;
+			last[l] = head;
+		}
+		offset = 0;
+		levels = 0;
+		size = 0;
+	}
+
+	/**
+	 * Finds, on every level, the last node before a position.
+	 *
+	 * Expected asymptotic running time cost: Θ(log n)
+	 *
+	 * Justification:
+	 *  There are Θ(log n) levels in use, and on average only a constant number of links are
+	 *  followed on each level before descending, since the next node on the level above would
+	 *  otherwise have been reached
+	 *
+	 * @param pos : the position, in [0, size]
+	 * @param update : filled with the last node before pos on each level
+	 * @param updatePos : filled with the positions of those nodes
+	 */
+	private void findBefore(int pos, Node<T>[] update, int[] updatePos) {
+		Node<T> node = head;
+		int nodePos = -1;
+		for (int l = levels - 1; l >= 0; l--) {
+			while (node.next[l] != null && nodePos + width(node, l) < pos) {
+				nodePos += width(node, l);
+				node = node.next[l];
+			}
+			update[l] = node;
+			updatePos[l] = nodePos;
+		}
+	}
+
+	/**
+	 * Returns the node at a particular position
+	 * @param pos : the position
+	 * @return the node at pos, if pos is within the bounds of the list, and null otherwise.
+	 *
+	 * Expected asymptotic running time cost: Θ(log n)
+	 *
+	 * Justification: See findBefore(), which this search is the same as
+	 */
+	private Node<T> getNode(int pos) {
+		if (pos < 0 || pos >= size) {
+			return null;
+		}
+		if (pos == size - 1) {
+			return last[0];
+		}
+
+		Node<T> node = head;
+		int nodePos = -1;
+		for (int l = levels - 1; l >= 0; l--) {
+			while (node.next[l] != null && nodePos + width(node, l) <= pos) {
+				nodePos += width(node, l);
+				node = node.next[l];
+			}
+		}
+		return node;
+	}
+
+	/**
+	 * Inserts an element in the doubly linked list
+	 * @param pos : The integer location at which the new data should be
+	 *      inserted in the list. We assume that the first position in the list
+	 *      is 0 (zero). If pos is less than 0 then add to the head of the list.
+	 *      If pos is greater or equal to the size of the list then add the
+	 *      element at the end of the list.
+	 * @param data : The new data of class T that needs to be added to the list
+	 *
+	 * Expected asymptotic running time cost: Θ(log n), or Θ(1) at either end of the list
+	 *
+	 * Justification:
+	 *  The node before pos is found on each level by findBefore(), which takes Θ(log n), and the
+	 *  links of the Θ(log n) levels are updated in Θ(1) each. At the ends of the list only the
+	 *  links of the new node are updated, and a node has 2 levels on average
+	 */
+	public void insertBefore(int pos, T data) {
+		if (pos <= 0) {
+			insertFirst(data);
+		} else if (pos >= size) {
+			insertLast(data);
+		} else {
+			insertMiddle(pos, data);
+		}
+	}
+
+	private void insertFirst(T data) {
+		Node<T> node = new Node<>(data, randomHeight());
+		// Every existing node moves forward by one, as do the links from head which pass over pos 0
+		offset++;
+		for (int l = 0; l < node.next.length; l++) {
+			node.next[l] = head.next[l];
+			if (node.next[l] != null) {
+				node.width[l] = width(head, l) - 1;
+			} else {
+				setLast(l, node, 0);
+			}
+			head.next[l] = node;
+			setWidth(head, l, 1);
+		}
+
+		if (node.next[0] != null) {
+			node.next[0].prev = node;
+		}
+		size++;
+	}
+
+	private void insertLast(T data) {
+		Node<T> node = new Node<>(data, randomHeight());
+		node.prev = last[0] == head ? null : last[0];
+		for (int l = 0; l < node.next.length; l++) {
+			Node<T> before = last[l];
+			before.next[l] = node;
+			setWidth(before, l, size - lastPosition(l));
+			setLast(l, node, size);
+		}
+		size++;
+	}
+
+	private void insertMiddle(int pos, T data) {
+		Node<T> node = new Node<>(data, randomHeight());
+		Node<T>[] update = Node.array(levels);
+		int[] updatePos = new int[levels];
+		findBefore(pos, update, updatePos);
+
+		// The last nodes after pos move forward by one
+		for (int l = 0; l < levels; l++) {
+			if (last[l] != head && lastPosition(l) >= pos) {
+				lastPosition[l]++;
+			}
+		}
+
+		for (int l = 0; l < levels; l++) {
+			Node<T> before = update[l];
+			if (l < node.next.length) {
+				node.next[l] = before.next[l];
+				if (node.next[l] != null) {
+					node.width[l] = updatePos[l] + width(before, l) + 1 - pos;
+				} else {
+					setLast(l, node, pos);
+				}
+				before.next[l] = node;
+				setWidth(before, l, pos - updatePos[l]);
+			} else if (before.next[l] != null) {
+				setWidth(before, l, width(before, l) + 1);
+			}
+		}
+
+		node.prev = update[0] == head ? null : update[0];
+		node.next[0].prev = node;
+		size++;
+	}
+
+	/**
+	 * Returns the data stored at a particular position
+	 * @param pos : the position
+	 * @return the data at pos, if pos is within the bounds of the list, and null otherwise.
+	 *
+	 * Expected asymptotic running time cost: Θ(log n)
+	 *
+	 * Justification:
+	 *  This method simply retrieves the data in a node obtained via getNode(), which takes Θ(log n)
+	 */
+	public T get(int pos) {
+		Node<T> node = getNode(pos);
+		return node != null ? node.data : null;
+	}
+
+	/**
+	 * Deletes the element of the list at position pos.
+	 * First element in the list has position 0. If pos points outside the
+	 * elements of the list then no modification happens to the list.
+	 * @param pos : the position to delete in the list.
+	 * @return true : on successful deletion, false : list has not been modified.
+	 *
+	 * Expected asymptotic running time cost: Θ(log n), or Θ(1) at the front of the list
+	 *
+	 * Justification:
+	 *  As for insertBefore(), the node before pos is found on each level in Θ(log n) and the links
+	 *  around it updated, while at the front only the links of the removed node are updated
+	 */
+	public boolean deleteAt(int pos) {
+		if (pos < 0 || pos >= size) {
+			return false;
+		}
+
+		if (pos == 0) {
+			deleteFirst();
+		} else {
+			deleteMiddle(pos);
+		}
+		return true;
+	}
+
+	private T deleteFirst() {
+		Node<T> node = head.next[0];
+		// Every remaining node moves back by one, as do the links from head which pass over pos 0
+		offset--;
+		for (int l = 0; l < node.next.length; l++) {
+			head.next[l] = node.next[l];
+			if (node.next[l] != null) {
+				setWidth(head, l, node.width[l]);
+			} else {
+				last[l] = head;
+			}
+		}
+
+		if (head.next[0] != null) {
+			head.next[0].prev = null;
+		}
+		size--;
+		return node.data;
+	}
+
+	private void deleteMiddle(int pos) {
+		Node<T>[] update = Node.array(levels);
+		int[] updatePos = new int[levels];
+		findBefore(pos, update, updatePos);
+		Node<T> node = update[0].next[0];
+
+		for (int l = 0; l < levels; l++) {
+			Node<T> before = update[l];
+			if (before.next[l] == node) {
+				before.next[l] = node.next[l];
+				if (node.next[l] != null) {
+					setWidth(before, l, width(before, l) + node.width[l] - 1);
+				} else {
+					setLast(l, before, updatePos[l]);
+				}
+			} else if (before.next[l] != null) {
+				setWidth(before, l, width(before, l) - 1);
+			}
+		}
+
+		// The last nodes after pos move back by one
+		for (int l = 0; l < levels; l++) {
+			if (last[l] != head && lastPosition(l) > pos) {
+				lastPosition[l]--;
+			}
+		}
+
+		if (node.next[0] != null) {
+			node.next[0].prev = node.prev;
+		}
+		size--;
+	}
+
+	/**
+	 * Replaces the contents of the list.
+	 *
+	 * Expected asymptotic running time cost: Θ(n)
+	 *
+	 * Justification: Each element is appended with insertLast(), which takes Θ(1)
+	 */
+	private void rebuild(List<T> data) {
+		clear();
+		for (T item : data) {
+			insertLast(item);
+		}
+	}
+
+	/**
+	 * Reverses the list.
+	 * If the list contains "A", "B", "C", "D" before the method is called
+	 * Then it should contain "D", "C", "B", "A" after it returns.
+	 *
+	 * Expected asymptotic running time cost: Θ(n)
+	 *
+	 * Justification:
+	 *  The widths of the links on the upper levels can't simply be reversed in place, so the list
+	 *  is rebuilt from its elements in reverse order, which takes Θ(n)
+	 */
+	public void reverse() {
+		List<T> reversed = new ArrayList<>(size);
+		for (Node<T> node = last[0]; node != head && node != null; node = node.prev) {
+			reversed.add(node.data);
+		}
+		rebuild(reversed);
+	}
+
+	/**
+	 * Removes all duplicate elements from the list.
+	 * The method should remove the _least_number_ of elements to make all elements unique.
+	 * If the list contains "A", "B", "C", "B", "D", "A" before the method is called
+	 * Then it should contain "A", "B", "C", "D" after it returns.
+	 * The relative order of elements in the resulting list should be the same as the starting list.
+	 *
+	 * As in DoublyLinkedList, elements are compared with equals() and hashCode(), and nulls are
+	 * equal to each other; makeUniqueSorted() compares them with compareTo() instead.
+	 *
+	 * Expected asymptotic running time cost: Θ(n)
+	 *
+	 * Justification:
+	 *  Each element is added to a hash set of the elements seen so far in Θ(1) expected time, after
+	 *  which the list is rebuilt from the kept elements in Θ(n)
+	 */
+	public void makeUnique() {
+		Set<T> seen = new HashSet<>();
+		List<T> unique = new ArrayList<>(size);
+		for (Node<T> node = head.next[0]; node != null; node = node.next[0]) {
+			if (seen.add(node.data)) {
+				unique.add(node.data);
+			}
+		}
+		rebuild(unique);
+	}
+
+	/**
+	 * Removes all duplicate elements from the list, as makeUnique() does, but comparing elements
+	 * with compareTo() rather than equals(). Nulls are equal to each other.
+	 *
+	 * Worst-case asymptotic running time cost: Θ(n log n)
+	 *
+	 * Justification:
+	 *  The positions of the elements are sorted by element with a stable Θ(n log n) sort, so that
+	 *  equal elements are adjacent and in their original order, and every position after the first
+	 *  in each run is marked as a duplicate. The list is then rebuilt in Θ(n)
+	 */
+	public void makeUniqueSorted() {
+		final List<T> data = new ArrayList<>(size);
+		List<Integer> order = new ArrayList<>(size);
+		for (Node<T> node = head.next[0]; node != null; node = node.next[0]) {
+			order.add(data.size());
+			data.add(node.data);
+		}
+
+		// Collections.sort() is stable, so the first position of each run is the first occurrence
+		Collections.sort(order, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer i, Integer j) {
+				T a = data.get(i), b = data.get(j);
+				if (a == null || b == null) {
+					return a == null ? (b == null ? 0 : -1) : 1;
+				}
+				return a.compareTo(b);
+			}
+		});
+
+		boolean[] duplicate = new boolean[data.size()];
+		for (int r = 1; r < order.size(); r++) {
+			T previous = data.get(order.get(r - 1)), current = data.get(order.get(r));
+			duplicate[order.get(r)] = previous == null ? current == null : current != null && previous.compareTo(current) == 0;
+		}
+
+		List<T> unique = new ArrayList<>(size);
+		for (int i = 0; i < data.size(); i++) {
+			if (!duplicate[i]) {
+				unique.add(data.get(i));
+			}
+		}
+		rebuild(unique);
+	}
+
+	/*----------------------- STACK API
+	 * If only the push and pop methods are called the data structure should behave like a stack.
+	 */
+
+	/**
+	 * This method adds an element to the data structure.
+	 * @param item : the item to push on the stack
+	 *
+	 * Expected asymptotic running time cost: Θ(1)
+	 *
+	 * Justification: See insertBefore()
+	 */
+	public void push(T item) {
+		insertFirst(item);
+	}
+
+	/**
+	 * This method returns and removes the element that was most recently added by the push method.
+	 * @return the last item inserted with a push; or null when the list is empty.
+	 *
+	 * Expected asymptotic running time cost: Θ(1)
+	 *
+	 * Justification: See deleteAt()
+	 */
+	public T pop() {
+		if (size == 0) {
+			return null;
+		}
+		return deleteFirst();
+	}
+
+	/*----------------------- QUEUE API
+	 * If only the enqueue and dequeue methods are called the data structure should behave like a FIFO queue.
+	 */
+
+	/**
+	 * This method adds an element to the data structure.
+	 * @param item : the item to be enqueued to the stack
+	 *
+	 * Expected asymptotic running time cost: Θ(1)
+	 *
+	 * Justification: See insertBefore()
+	 */
+	public void enqueue(T item) {
+		insertLast(item);
+	}
+
+	/**
+	 * This method returns and removes the element that was least recently added by the enqueue method.
+	 * @return the earliest item inserted with an equeue; or null when the list is empty.
+	 *
+	 * Expected asymptotic running time cost: Θ(1)
+	 *
+	 * Justification:
+	 *   This method delegates to pop() since the functionality is the same
+	 */
+	public T dequeue() {
+		return pop();
+	}
+
+	/**
+	 * @return a string with the elements of the list as a comma-separated
+	 * list, from beginning to end
+	 *
+	 * Worst-case asymptotic running time cost: Θ(n)
+	 *
+	 * Justification:
+	 *  Level 0 is an ordinary linked list, which is traversed once
+	 */
+	public String toString() {
+		StringBuilder s = new StringBuilder();
+		boolean isFirst = true;
+
+		// iterate over the list, starting from the head
+		for (Node<T> iter = head.next[0]; iter != null; iter = iter.next[0]) {
+			if (!isFirst) {
+				s.append(",");
+			} else {
+				isFirst = false;
+			}
+			s.append(iter.data != null ? iter.data.toString() : "null");
+		}
+
+		return s.toString();
+	}
+}
@@ -0,0 +1,93 @@
+/**
+ * Interface PositionalList: the list API of DoublyLinkedList, which its alternative
+ * implementations (IndexedDoublyLinkedList, UnrolledLinkedList and RingBufferList) share, so that
+ * they can be used and tested interchangeably. The implementations document the running time of
+ * each method.
+ * @param <T> This is a type parameter. T is used as a class name in the
+ * definition of this interface.
+ *
+ * @author Jack O'Sullivan
+ * @version 18/10/18 15:20:44
+ */
+interface PositionalList<T extends Comparable<T>> {
+	/**
+	 * @return the number of elements
+	 */
+	int size();
+
+	/**
+	 * @return true if list is empty, and false otherwise
+	 */
+	boolean isEmpty();
+
+	/**
+	 * Remove all elements in the list
+	 */
+	void clear();
+
+	/**
+	 * Inserts an element in the list
+	 * @param pos : The integer location at which the new data should be
+	 *      inserted in the list. If pos is less than 0 then add to the head of the list.
+	 *      If pos is greater or equal to the size of the list then add the
+	 *      element at the end of the list.
+	 * @param data : The new data of class T that needs to be added to the list
+	 */
+	void insertBefore(int pos, T data);
+
+	/**
+	 * @param pos : the position
+	 * @return the data at pos, if pos is within the bounds of the list, and null otherwise.
+	 */
+	T get(int pos);
+
+	/**
+	 * Deletes the element of the list at position pos, if pos is within the bounds of the list.
+	 * @param pos : the position to delete in the list.
+	 * @return true : on successful deletion, false : list has not been modified.
+	 */
+	boolean deleteAt(int pos);
+
+	/**
+	 * Reverses the list.
+	 */
+	void reverse();
+
+	/**
+	 * Removes all duplicate elements from the list, keeping the first occurrence of each, as
+	 * compared with equals().
+	 */
+	void makeUnique();
+
+	/**
+	 * Removes all duplicate elements from the list, as makeUnique() does, but comparing elements
+	 * with compareTo() rather than equals().
+	 */
+	void makeUniqueSorted();
+
+	/**
+	 * @param item : the item to push on the stack
+	 */
+	void push(T item);
+
+	/**
+	 * @return the last item inserted with a push; or null when the list is empty.
+	 */
+	T pop();
+
+	/**
+	 * @param item : the item to be enqueued to the queue
+	 */
+	void enqueue(T item);
+
+	/**
+	 * @return the earliest item inserted with an enqueue; or null when the list is empty.
+	 */
+	T dequeue();
+
+	/**
+	 * @return a string with the elements of the list as a comma-separated
+	 * list, from beginning to end
+	 */
+	String toString();
+}
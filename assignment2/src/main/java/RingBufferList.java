@@ -0,0 +1,401 @@
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Class RingBufferList: implements a *generic* list with the same API as DoublyLinkedList,
+ * stored in a growable circular array.
+ * @param <T> This is a type parameter. T is used as a class name in the
+ * definition of this class.
+ *
+ * The elements occupy size consecutive slots of the array starting at index head, wrapping
+ * around from the end of the array to the start. The capacity of the array is always a power of
+ * two, so a position is mapped to its slot with a mask instead of a division. When the array is
+ * full it is replaced by one twice the size, so a sequence of n insertions takes Θ(n) time in
+ * total.
+ *
+ * Both ends of the list can be extended or shortened by moving head, so push, pop, enqueue and
+ * dequeue take Θ(1) (amortised, for insertions), and get takes Θ(1). An insertion or deletion in
+ * the middle shifts the elements on whichever side of the position is shorter by one slot.
+ *
+ * Unlike DoublyLinkedList, which allocates a node per element, the list only holds a reference
+ * per slot, and the slots are contiguous in memory.
+ *
+ * @author Jack O'Sullivan
+ * @version 17/10/18 18:41:26
+ */
+class RingBufferList<T extends Comparable<T>> implements PositionalList<T> {
+	private static final int INITIAL_CAPACITY = 16;
+
+	private Object[] items;
+	// items.length - 1, for mapping positions to slots
+	private int mask;
+	// The slot of the element at position 0
+	private int head;
+	private int size;
+
+	RingBufferList() {
+		clear();
+	}
+
+	/**
+	 * @return the slot holding the element at position pos.
+	 */
+	private int slot(int pos) {
+		return (head + pos) & mask;
+	}
+
+	@SuppressWarnings("unchecked")
+	private T item(int pos) {
+		return (T)items[slot(pos)];
+	}
+
+	/**
+	 * Get the number of elements in the list
+	 *
+	 * Worst-case asymptotic running time cost: Θ(1)
+	 *
+	 * Justification: Reading a value from is Θ(1)
+	 *
+	 * @return the number of elements
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Tests if the list is empty
+	 * @return true if list is empty, and false otherwise
+	 *
+	 * Worst-case asymptotic running time cost: Θ(1)
+	 *
+	 * Justification: size() takes Θ(1), as do comparisons
+	 */
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	/**
+	 * Remove all elements in the list
+	 *
+	 * Worst-case asymptotic running time cost: Θ(1)
+	 *
+	 * Justification:
+	 *  The array is replaced with a new one of the initial capacity (rather than being cleared),
+	 *  which takes Θ(1)
+	 */
+	public void clear() {
+		items = new Object[INITIAL_CAPACITY];
+		mask = INITIAL_CAPACITY - 1;
+		head = 0;
+		size = 0;
+	}
+
+	/**
+	 * Doubles the capacity of the array, moving the elements to the start of the new one.
+	 *
+	 * Worst-case asymptotic running time cost: Θ(n)
+	 *
+	 * Justification:
+	 *  Every element is copied, but since the capacity doubles each time, the total cost of the
+	 *  copies made during n insertions is at most 2n, i.e. Θ(1) amortised per insertion
+	 */
+	private void grow() {
+		if (items.length == 1 << 30) {
+			throw new IllegalStateException("RingBufferList can't hold more than 2^30 elements");
+		}
+		Object[] grown = new Object[items.length * 2];
+		int firstPart = Math.min(size, items.length - head);
+		System.arraycopy(items, head, grown, 0, firstPart);
+		System.arraycopy(items, 0, grown, firstPart, size - firstPart);
+		items = grown;
+		mask = grown.length - 1;
+		head = 0;
+	}
+
+	/**
+	 * Inserts an element in the list
+	 * @param pos : The integer location at which the new data should be
+	 *      inserted in the list. We assume that the first position in the list
+	 *      is 0 (zero). If pos is less than 0 then add to the head of the list.
+	 *      If pos is greater or equal to the size of the list then add the
+	 *      element at the end of the list.
+	 * @param data : The new data of class T that needs to be added to the list
+	 *
+	 * Worst-case asymptotic running time cost: Θ(n), or Θ(1) amortised at either end of the list
+	 *
+	 * Justification:
+	 *  The elements before pos are shifted back a slot, or the elements from pos onwards are
+	 *  shifted forward a slot, whichever are fewer. That is at most n/2 elements, or none at either
+	 *  end. Growing the array takes Θ(1) amortised, see grow()
+	 */
+	public void insertBefore(int pos, T data) {
+		pos = Math.max(0, Math.min(pos, size));
+		if (size == items.length) {
+			grow();
+		}
+
+		if (pos < size - pos) {
+			head = (head - 1) & mask;
+			for (int i = 0; i < pos; i++) {
+				items[slot(i)] = items[slot(i + 1)];
+			}
+		} else {
+			for (int i = size; i > pos; i--) {
+				items[slot(i)] = items[slot(i - 1)];
+			}
+		}
+		items[slot(pos)] = data;
+		size++;
+	}
+
+	/**
+	 * Returns the data stored at a particular position
+	 * @param pos : the position
+	 * @return the data at pos, if pos is within the bounds of the list, and null otherwise.
+	 *
+	 * Worst-case asymptotic running time cost: Θ(1)
+	 *
+	 * Justification: The slot holding the element is computed directly from pos
+	 */
+	public T get(int pos) {
+		if (pos < 0 || pos >= size) {
+			return null;
+		}
+		return item(pos);
+	}
+
+	/**
+	 * Removes the element at a position which is within the bounds of the list.
+	 * @return the element removed
+	 *
+	 * Worst-case asymptotic running time cost: Θ(n), or Θ(1) at either end of the list
+	 *
+	 * Justification: As in insertBefore(), at most n/2 elements are shifted
+	 */
+	private T remove(int pos) {
+		T data = item(pos);
+		if (pos < size - pos) {
+			for (int i = pos; i > 0; i--) {
+				items[slot(i)] = items[slot(i - 1)];
+			}
+			items[head] = null;
+			head = (head + 1) & mask;
+		} else {
+			for (int i = pos; i < size - 1; i++) {
+				items[slot(i)] = items[slot(i + 1)];
+			}
+			items[slot(size - 1)] = null;
+		}
+		size--;
+		return data;
+	}
+
+	/**
+	 * Deletes the element of the list at position pos.
+	 * First element in the list has position 0. If pos points outside the
+	 * elements of the list then no modification happens to the list.
+	 * @param pos : the position to delete in the list.
+	 * @return true : on successful deletion, false : list has not been modified.
+	 *
+	 * Worst-case asymptotic running time cost: Θ(n), or Θ(1) at either end of the list
+	 *
+	 * Justification: See remove()
+	 */
+	public boolean deleteAt(int pos) {
+		if (pos < 0 || pos >= size) {
+			return false;
+		}
+
+		remove(pos);
+		return true;
+	}
+
+	/**
+	 * Reverses the list.
+	 * If the list contains "A", "B", "C", "D" before the method is called
+	 * Then it should contain "D", "C", "B", "A" after it returns.
+	 *
+	 * Worst-case asymptotic running time cost: Θ(n)
+	 *
+	 * Justification: The elements are swapped in pairs from both ends, n/2 swaps in total
+	 */
+	public void reverse() {
+		for (int i = 0, j = size - 1; i < j; i++, j--) {
+			Object tmp = items[slot(i)];
+			items[slot(i)] = items[slot(j)];
+			items[slot(j)] = tmp;
+		}
+	}
+
+	/**
+	 * Removes the elements which aren't marked to be kept, moving the remaining ones forward.
+	 * @param keep : whether to keep the element at each position
+	 *
+	 * Worst-case asymptotic running time cost: Θ(n)
+	 *
+	 * Justification:
+	 *  Each kept element is moved once, to a position no later than its own, so the elements can
+	 *  be moved in place in a single pass
+	 */
+	private void retain(boolean[] keep) {
+		int kept = 0;
+		for (int i = 0; i < size; i++) {
+			if (keep[i]) {
+				items[slot(kept++)] = items[slot(i)];
+			}
+		}
+		for (int i = kept; i < size; i++) {
+			items[slot(i)] = null;
+		}
+		size = kept;
+	}
+
+	/**
+	 * Removes all duplicate elements from the list.
+	 * The method should remove the _least_number_ of elements to make all elements unique.
+	 * If the list contains "A", "B", "C", "B", "D", "A" before the method is called
+	 * Then it should contain "A", "B", "C", "D" after it returns.
+	 * The relative order of elements in the resulting list should be the same as the starting list.
+	 *
+	 * As in DoublyLinkedList, elements are compared with equals() and hashCode(), and nulls are
+	 * equal to each other; makeUniqueSorted() compares them with compareTo() instead.
+	 *
+	 * Expected asymptotic running time cost: Θ(n)
+	 *
+	 * Justification:
+	 *  Each element is added to a hash set of the elements seen so far in Θ(1) expected time, and
+	 *  the elements which weren't already there are kept with retain(), which takes Θ(n)
+	 */
+	public void makeUnique() {
+		Set<T> seen = new HashSet<>();
+		boolean[] keep = new boolean[size];
+		for (int i = 0; i < size; i++) {
+			keep[i] = seen.add(item(i));
+		}
+		retain(keep);
+	}
+
+	/**
+	 * Removes all duplicate elements from the list, as makeUnique() does, but comparing elements
+	 * with compareTo() rather than equals(). Nulls are equal to each other.
+	 *
+	 * Worst-case asymptotic running time cost: Θ(n log n)
+	 *
+	 * Justification:
+	 *  The positions of the elements are sorted by element with a stable Θ(n log n) sort, so that
+	 *  equal elements are adjacent and in their original order, and only the first position in
+	 *  each run is kept. The duplicates are then removed with retain(), which takes Θ(n)
+	 */
+	public void makeUniqueSorted() {
+		Integer[] order = new Integer[size];
+		for (int i = 0; i < size; i++) {
+			order[i] = i;
+		}
+
+		final Comparator<T> comparator = new Comparator<T>() {
+			@Override
+			public int compare(T a, T b) {
+				if (a == null || b == null) {
+					return a == null ? (b == null ? 0 : -1) : 1;
+				}
+				return a.compareTo(b);
+			}
+		};
+		// Arrays.sort() is stable for objects, so the first position of each run is the first occurrence
+		Arrays.sort(order, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer i, Integer j) {
+				return comparator.compare(item(i), item(j));
+			}
+		});
+
+		boolean[] keep = new boolean[size];
+		for (int r = 0; r < order.length; r++) {
+			keep[order[r]] = r == 0 || comparator.compare(item(order[r - 1]), item(order[r])) != 0;
+		}
+		retain(keep);
+	}
+
+	/*----------------------- STACK API
+	 * If only the push and pop methods are called the data structure should behave like a stack.
+	 */
+
+	/**
+	 * This method adds an element to the data structure.
+	 * @param item : the item to push on the stack
+	 *
+	 * Amortised asymptotic running time cost: Θ(1)
+	 *
+	 * Justification: See insertBefore()
+	 */
+	public void push(T item) {
+		insertBefore(0, item);
+	}
+
+	/**
+	 * This method returns and removes the element that was most recently added by the push method.
+	 * @return the last item inserted with a push; or null when the list is empty.
+	 *
+	 * Worst-case asymptotic running time cost: Θ(1)
+	 *
+	 * Justification: See remove()
+	 */
+	public T pop() {
+		if (size == 0) {
+			return null;
+		}
+		return remove(0);
+	}
+
+	/*----------------------- QUEUE API
+	 * If only the enqueue and dequeue methods are called the data structure should behave like a FIFO queue.
+	 */
+
+	/**
+	 * This method adds an element to the data structure.
+	 * @param item : the item to be enqueued to the stack
+	 *
+	 * Amortised asymptotic running time cost: Θ(1)
+	 *
+	 * Justification: See insertBefore()
+	 */
+	public void enqueue(T item) {
+		insertBefore(size, item);
+	}
+
+	/**
+	 * This method returns and removes the element that was least recently added by the enqueue method.
+	 * @return the earliest item inserted with an equeue; or null when the list is empty.
+	 *
+	 * Worst-case asymptotic running time cost: Θ(1)
+	 *
+	 * Justification:
+	 *   This method delegates to pop() since the functionality is the same
+	 */
+	public T dequeue() {
+		return pop();
+	}
+
+	/**
+	 * @return a string with the elements of the list as a comma-separated
+	 * list, from beginning to end
+	 *
+	 * Worst-case asymptotic running time cost: Θ(n)
+	 *
+	 * Justification:
+	 *  The slots holding the elements are read in order, once each
+	 */
+	public String toString() {
+		StringBuilder s = new StringBuilder();
+		for (int i = 0; i < size; i++) {
+			if (i > 0) {
+				s.append(",");
+			}
+			Object data = items[slot(i)];
+			s.append(data != null ? data.toString() : "null");
+		}
+		return s.toString();
+	}
+}
@@ -0,0 +1,585 @@
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Class UnrolledLinkedList: implements a *generic* list with the same API as DoublyLinkedList,
+ * but which stores its elements in chunks of up to CHUNK_CAPACITY elements rather than in a
+ * node each.
+ * @param <T> This is a type parameter. T is used as a class name in the
+ * definition of this class.
+ *
+ * The chunks form a doubly linked list, and each one holds its elements at the start of an array
+ * along with their count. A chunk which is full is split in half to make room for an insertion
+ * (except at either end of the list, where a new empty chunk is added instead, so that lists
+ * built with push or enqueue have full chunks). A chunk which drops below half full after a
+ * deletion is merged with its neighbour if they fit in one chunk, and otherwise takes elements
+ * from its neighbour until they hold the same number, which leaves both at least half full, as
+ * in a B-tree. Every chunk except the first and the last is therefore always at least half full,
+ * so there are at most 2 + 2n / CHUNK_CAPACITY chunks.
+ *
+ * A DoublyLinkedList node costs an object header and three references (including the one to the
+ * enclosing list) per element, whereas a full chunk costs little more than one reference per
+ * element, and scanning a chunk reads consecutive array slots instead of following a link per
+ * element. Positions are found by skipping whole chunks, so get, insertBefore and deleteAt take
+ * Θ(n / CHUNK_CAPACITY) steps to find the chunk, plus Θ(CHUNK_CAPACITY) to shift the elements
+ * within it.
+ *
+ * @author Jack O'Sullivan
+ * @version 16/10/18 14:02:51
+ */
+class UnrolledLinkedList<T extends Comparable<T>> implements PositionalList<T> {
+	/**
+	 * The maximum number of elements in a chunk.
+	 */
+	static final int CHUNK_CAPACITY = 64;
+
+	/**
+	 * private class Chunk: a node holding up to CHUNK_CAPACITY consecutive elements of the list.
+	 */
+	private static class Chunk {
+		final Object[] items = new Object[CHUNK_CAPACITY];
+		// items[0, count) are in use, and the rest are null
+		int count;
+		Chunk next;
+		Chunk prev;
+	}
+
+	// Fields head and tail point to the first and last chunks of the list, which are null if
+	// (and only if) the list is empty.
+	private Chunk head, tail;
+	private int size;
+	// Set by findChunk() to the index of the position within the chunk it returns
+	private int foundIndex;
+
+	@SuppressWarnings("unchecked")
+	private T item(Chunk chunk, int index) {
+		return (T)chunk.items[index];
+	}
+
+	/**
+	 * Get the number of elements in the list
+	 *
+	 * Worst-case asymptotic running time cost: Θ(1)
+	 *
+	 * Justification: Reading a value from is Θ(1)
+	 *
+	 * @return the number of elements
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Tests if the list is empty
+	 * @return true if list is empty, and false otherwise
+	 *
+	 * Worst-case asymptotic running time cost: Θ(1)
+	 *
+	 * Justification: size() takes Θ(1), as do comparisons
+	 */
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	/**
+	 * Remove all elements in the list
+	 *
+	 * Worst-case asymptotic running time cost: Θ(1)
+	 *
+	 * Justification: Assigning values takes Θ(1)
+	 */
+	public void clear() {
+		head = tail = null;
+		size = 0;
+	}
+
+	/**
+	 * Finds the chunk containing a position, and sets foundIndex to the index of the position
+	 * within it.
+	 * @param pos : the position, which must be within the bounds of the list
+	 * @return the chunk containing pos
+	 *
+	 * Worst-case asymptotic running time cost: Θ(n)
+	 *
+	 * Justification:
+	 *  As in DoublyLinkedList.getNode(), the search starts from the nearer end of the list, but it
+	 *  skips a whole chunk at a time. Since every chunk except the first and the last holds at
+	 *  least CHUNK_CAPACITY / 2 elements, this takes at most 1 + n / CHUNK_CAPACITY steps, which
+	 *  is still Θ(n) but with a much smaller constant (and far fewer cache misses)
+	 */
+	private Chunk findChunk(int pos) {
+		Chunk current;
+		if (pos >= size - pos) {
+			current = tail;
+			int start = size - current.count;
+			while (pos < start) {
+				current = current.prev;
+				start -= current.count;
+			}
+			foundIndex = pos - start;
+		} else {
+			current = head;
+			while (pos >= current.count) {
+				pos -= current.count;
+				current = current.next;
+			}
+			foundIndex = pos;
+		}
+		return current;
+	}
+
+	/**
+	 * Adds an empty chunk to the list after another one.
+	 * @param before : the chunk to add it after, or null to add it at the head of the list
+	 * @return the new chunk
+	 */
+	private Chunk addChunkAfter(Chunk before) {
+		Chunk chunk = new Chunk();
+		chunk.prev = before;
+		chunk.next = before != null ? before.next : head;
+		if (chunk.next != null) {
+			chunk.next.prev = chunk;
+		} else {
+			tail = chunk;
+		}
+		if (before != null) {
+			before.next = chunk;
+		} else {
+			head = chunk;
+		}
+		return chunk;
+	}
+
+	/**
+	 * Removes a chunk from the list.
+	 */
+	private void removeChunk(Chunk chunk) {
+		if (chunk != head) {
+			chunk.prev.next = chunk.next;
+		} else {
+			head = chunk.next;
+		}
+		if (chunk != tail) {
+			chunk.next.prev = chunk.prev;
+		} else {
+			tail = chunk.prev;
+		}
+	}
+
+	/**
+	 * Inserts an element in the list
+	 * @param pos : The integer location at which the new data should be
+	 *      inserted in the list. We assume that the first position in the list
+	 *      is 0 (zero). If pos is less than 0 then add to the head of the list.
+	 *      If pos is greater or equal to the size of the list then add the
+	 *      element at the end of the list.
+	 * @param data : The new data of class T that needs to be added to the list
+	 *
+	 * Worst-case asymptotic running time cost: Θ(n), or Θ(1) at either end of the list
+	 *
+	 * Justification:
+	 *  The chunk is found with findChunk(), which takes Θ(n) (or Θ(1) at either end, since it
+	 *  starts there). Splitting a full chunk and shifting the elements after the position each
+	 *  move at most CHUNK_CAPACITY elements, which is a constant
+	 */
+	public void insertBefore(int pos, T data) {
+		if (pos < 0) {
+			pos = 0;
+		}
+
+		Chunk chunk;
+		int index;
+		if (pos >= size) {
+			chunk = tail;
+			if (chunk == null || chunk.count == CHUNK_CAPACITY) {
+				chunk = addChunkAfter(tail);
+			}
+			index = chunk.count;
+		} else {
+			chunk = findChunk(pos);
+			index = foundIndex;
+			if (chunk.count == CHUNK_CAPACITY) {
+				if (pos == 0) {
+					chunk = addChunkAfter(null);
+				} else {
+					// Move the upper half of the elements to a new chunk
+					int half = CHUNK_CAPACITY / 2;
+					Chunk upper = addChunkAfter(chunk);
+					System.arraycopy(chunk.items, half, upper.items, 0, CHUNK_CAPACITY - half);
+					Arrays.fill(chunk.items, half, CHUNK_CAPACITY, null);
+					upper.count = CHUNK_CAPACITY - half;
+					chunk.count = half;
+					if (index > half) {
+						chunk = upper;
+						index -= half;
+					}
+				}
+			}
+			System.arraycopy(chunk.items, index, chunk.items, index + 1, chunk.count - index);
+		}
+
+		chunk.items[index] = data;
+		chunk.count++;
+		size++;
+	}
+
+	/**
+	 * Returns the data stored at a particular position
+	 * @param pos : the position
+	 * @return the data at pos, if pos is within the bounds of the list, and null otherwise.
+	 *
+	 * Worst-case asymptotic running time cost: Θ(n)
+	 *
+	 * Justification:
+	 *  This method simply retrieves the data from a chunk obtained via findChunk(), which takes Θ(n)
+	 */
+	public T get(int pos) {
+		if (pos < 0 || pos >= size) {
+			return null;
+		}
+		Chunk chunk = findChunk(pos);
+		return item(chunk, foundIndex);
+	}
+
+	/**
+	 * Removes an element from a chunk. If the chunk becomes less than half full, it is merged
+	 * with a neighbour if they fit in one chunk, and otherwise takes elements from it.
+	 * @return the element removed
+	 *
+	 * Worst-case asymptotic running time cost: Θ(1)
+	 *
+	 * Justification:
+	 *  Shifting the elements after the removed one, merging two chunks and moving elements between
+	 *  them each move at most CHUNK_CAPACITY elements, which is a constant
+	 */
+	private T deleteFromChunk(Chunk chunk, int index) {
+		T data = item(chunk, index);
+		System.arraycopy(chunk.items, index + 1, chunk.items, index, chunk.count - index - 1);
+		chunk.items[--chunk.count] = null;
+		size--;
+
+		if (chunk.count == 0) {
+			removeChunk(chunk);
+		} else if (chunk.count < CHUNK_CAPACITY / 2) {
+			// If this is the only chunk, it may hold any number of elements
+			Chunk neighbour = chunk.next != null ? chunk.next : chunk.prev;
+			if (neighbour != null && chunk.count + neighbour.count <= CHUNK_CAPACITY) {
+				// Merge the later of the two chunks into the earlier one
+				Chunk first = neighbour == chunk.next ? chunk : neighbour;
+				Chunk second = first.next;
+				System.arraycopy(second.items, 0, first.items, first.count, second.count);
+				first.count += second.count;
+				removeChunk(second);
+			} else if (neighbour != null) {
+				borrow(chunk, neighbour);
+			}
+		}
+		return data;
+	}
+
+	/**
+	 * Moves elements from the adjacent end of a neighbouring chunk into a chunk, so that they hold
+	 * the same number of elements (to within one).
+	 *
+	 * Worst-case asymptotic running time cost: Θ(1)
+	 *
+	 * Justification: At most CHUNK_CAPACITY elements are moved
+	 */
+	private static void borrow(Chunk chunk, Chunk neighbour) {
+		int moved = (neighbour.count - chunk.count) / 2;
+		if (neighbour == chunk.next) {
+			System.arraycopy(neighbour.items, 0, chunk.items, chunk.count, moved);
+			System.arraycopy(neighbour.items, moved, neighbour.items, 0, neighbour.count - moved);
+		} else {
+			System.arraycopy(chunk.items, 0, chunk.items, moved, chunk.count);
+			System.arraycopy(neighbour.items, neighbour.count - moved, chunk.items, 0, moved);
+		}
+		Arrays.fill(neighbour.items, neighbour.count - moved, neighbour.count, null);
+		chunk.count += moved;
+		neighbour.count -= moved;
+	}
+
+	/**
+	 * @return the number of elements in each chunk, from first to last, for testing.
+	 */
+	int[] chunkCounts() {
+		int chunks = 0;
+		for (Chunk chunk = head; chunk != null; chunk = chunk.next) {
+			chunks++;
+		}
+		int[] counts = new int[chunks];
+		int i = 0;
+		for (Chunk chunk = head; chunk != null; chunk = chunk.next) {
+			counts[i++] = chunk.count;
+		}
+		return counts;
+	}
+
+	/**
+	 * Deletes the element of the list at position pos.
+	 * First element in the list has position 0. If pos points outside the
+	 * elements of the list then no modification happens to the list.
+	 * @param pos : the position to delete in the list.
+	 * @return true : on successful deletion, false : list has not been modified.
+	 *
+	 * Worst-case asymptotic running time cost: Θ(n), or Θ(1) at either end of the list
+	 *
+	 * Justification:
+	 *  Although deleteFromChunk() only takes Θ(1), the chunk must first be found, which through
+	 *  findChunk() takes Θ(n)
+	 */
+	public boolean deleteAt(int pos) {
+		if (pos < 0 || pos >= size) {
+			return false;
+		}
+
+		Chunk chunk = findChunk(pos);
+		deleteFromChunk(chunk, foundIndex);
+		return true;
+	}
+
+	/**
+	 * Reverses the list.
+	 * If the list contains "A", "B", "C", "D" before the method is called
+	 * Then it should contain "D", "C", "B", "A" after it returns.
+	 *
+	 * Worst-case asymptotic running time cost: Θ(n)
+	 *
+	 * Justification:
+	 *  The links of every chunk are swapped, and the elements within every chunk are reversed,
+	 *  which takes Θ(n) in total
+	 */
+	public void reverse() {
+		for (Chunk current = head; current != null; current = current.prev) {
+			Object[] items = current.items;
+			for (int i = 0, j = current.count - 1; i < j; i++, j--) {
+				Object tmp = items[i];
+				items[i] = items[j];
+				items[j] = tmp;
+			}
+
+			Chunk tmp = current.next;
+			current.next = current.prev;
+			current.prev = tmp;
+		}
+
+		Chunk tmp = head;
+		head = tail;
+		tail = tmp;
+	}
+
+	/**
+	 * Removes the elements which aren't marked to be kept, packing the remaining ones into as few
+	 * chunks as possible.
+	 * @param keep : whether to keep the element at each position
+	 *
+	 * Worst-case asymptotic running time cost: Θ(n)
+	 *
+	 * Justification:
+	 *  The list is traversed once, copying each kept element to the next free slot. The slot
+	 *  written is never after the element being read, so the elements can be moved in place
+	 */
+	private void retain(boolean[] keep) {
+		Chunk write = head;
+		int writeIndex = 0, pos = 0;
+		for (Chunk read = head; read != null; read = read.next) {
+			for (int i = 0; i < read.count; i++, pos++) {
+				if (keep[pos]) {
+					if (writeIndex == CHUNK_CAPACITY) {
+						// write is before read here, so its count is no longer needed for reading
+						write.count = CHUNK_CAPACITY;
+						write = write.next;
+						writeIndex = 0;
+					}
+					write.items[writeIndex++] = read.items[i];
+				}
+			}
+		}
+
+		int kept = 0;
+		for (boolean k : keep) {
+			if (k) {
+				kept++;
+			}
+		}
+		if (kept == 0) {
+			clear();
+			return;
+		}
+		Arrays.fill(write.items, writeIndex, CHUNK_CAPACITY, null);
+		write.count = writeIndex;
+		write.next = null;
+		tail = write;
+		size = kept;
+	}
+
+	/**
+	 * Removes all duplicate elements from the list.
+	 * The method should remove the _least_number_ of elements to make all elements unique.
+	 * If the list contains "A", "B", "C", "B", "D", "A" before the method is called
+	 * Then it should contain "A", "B", "C", "D" after it returns.
+	 * The relative order of elements in the resulting list should be the same as the starting list.
+	 *
+	 * As in DoublyLinkedList, elements are compared with equals() and hashCode(), and nulls are
+	 * equal to each other; makeUniqueSorted() compares them with compareTo() instead.
+	 *
+	 * Expected asymptotic running time cost: Θ(n)
+	 *
+	 * Justification:
+	 *  Each element is added to a hash set of the elements seen so far in Θ(1) expected time, and
+	 *  the elements which weren't already there are kept with retain(), which takes Θ(n)
+	 */
+	public void makeUnique() {
+		Set<T> seen = new HashSet<>();
+		boolean[] keep = new boolean[size];
+		int pos = 0;
+		for (Chunk current = head; current != null; current = current.next) {
+			for (int i = 0; i < current.count; i++) {
+				keep[pos++] = seen.add(item(current, i));
+			}
+		}
+		retain(keep);
+	}
+
+	/**
+	 * Removes all duplicate elements from the list, as makeUnique() does, but comparing elements
+	 * with compareTo() rather than equals(). Nulls are equal to each other.
+	 *
+	 * Worst-case asymptotic running time cost: Θ(n log n)
+	 *
+	 * Justification:
+	 *  The positions of the elements are sorted by element with a stable Θ(n log n) sort, so that
+	 *  equal elements are adjacent and in their original order, and only the first position in
+	 *  each run is kept. The duplicates are then removed with retain(), which takes Θ(n)
+	 */
+	public void makeUniqueSorted() {
+		final Object[] data = new Object[size];
+		Integer[] order = new Integer[size];
+		int pos = 0;
+		for (Chunk current = head; current != null; current = current.next) {
+			System.arraycopy(current.items, 0, data, pos, current.count);
+			pos += current.count;
+		}
+		for (int i = 0; i < size; i++) {
+			order[i] = i;
+		}
+
+		final Comparator<T> comparator = new Comparator<T>() {
+			@Override
+			public int compare(T a, T b) {
+				if (a == null || b == null) {
+					return a == null ? (b == null ? 0 : -1) : 1;
+				}
+				return a.compareTo(b);
+			}
+		};
+		// Arrays.sort() is stable for objects, so the first position of each run is the first occurrence
+		Arrays.sort(order, new Comparator<Integer>() {
+			@Override
+			@SuppressWarnings("unchecked")
+			public int compare(Integer i, Integer j) {
+				return comparator.compare((T)data[i], (T)data[j]);
+			}
+		});
+
+		boolean[] keep = new boolean[size];
+		for (int r = 0; r < order.length; r++) {
+			@SuppressWarnings("unchecked")
+			boolean first = r == 0 || comparator.compare((T)data[order[r - 1]], (T)data[order[r]]) != 0;
+			keep[order[r]] = first;
+		}
+		retain(keep);
+	}
+
+	/*----------------------- STACK API
+	 * If only the push and pop methods are called the data structure should behave like a stack.
+	 */
+
+	/**
+	 * This method adds an element to the data structure.
+	 * @param item : the item to push on the stack
+	 *
+	 * Worst-case asymptotic running time cost: Θ(1)
+	 *
+	 * Justification: See insertBefore()
+	 */
+	public void push(T item) {
+		insertBefore(0, item);
+	}
+
+	/**
+	 * This method returns and removes the element that was most recently added by the push method.
+	 * @return the last item inserted with a push; or null when the list is empty.
+	 *
+	 * Worst-case asymptotic running time cost: Θ(1)
+	 *
+	 * Justification:
+	 *  The element is the first one in the head chunk, and deleteFromChunk() takes Θ(1)
+	 */
+	public T pop() {
+		if (size == 0) {
+			return null;
+		}
+		return deleteFromChunk(head, 0);
+	}
+
+	/*----------------------- QUEUE API
+	 * If only the enqueue and dequeue methods are called the data structure should behave like a FIFO queue.
+	 */
+
+	/**
+	 * This method adds an element to the data structure.
+	 * @param item : the item to be enqueued to the stack
+	 *
+	 * Worst-case asymptotic running time cost: Θ(1)
+	 *
+	 * Justification: See insertBefore()
+	 */
+	public void enqueue(T item) {
+		insertBefore(size, item);
+	}
+
+	/**
+	 * This method returns and removes the element that was least recently added by the enqueue method.
+	 * @return the earliest item inserted with an equeue; or null when the list is empty.
+	 *
+	 * Worst-case asymptotic running time cost: Θ(1)
+	 *
+	 * Justification:
+	 *   This method delegates to pop() since the functionality is the same
+	 */
+	public T dequeue() {
+		return pop();
+	}
+
+	/**
+	 * @return a string with the elements of the list as a comma-separated
+	 * list, from beginning to end
+	 *
+	 * Worst-case asymptotic running time cost: Θ(n)
+	 *
+	 * Justification:
+	 *  Every chunk is traversed once, and the elements within each are read consecutively
+	 */
+	public String toString() {
+		StringBuilder s = new StringBuilder();
+		boolean isFirst = true;
+
+		// iterate over the list, starting from the head
+		for (Chunk chunk = head; chunk != null; chunk = chunk.next) {
+			for (int i = 0; i < chunk.count; i++) {
+				if (!isFirst) {
+					s.append(",");
+				} else {
+					isFirst = false;
+				}
+				Object data = chunk.items[i];
+				s.append(data != null ? data.toString() : "null");
+			}
+		}
+
+		return s.toString();
+	}
+}
@@ -0,0 +1,185 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Test class for ConcurrentDoublyLinkedList
+ *
+ * @author Jack O'Sullivan
+ * @version 17/10/18 14:52:13
+ */
+@RunWith(JUnit4.class)
+public class ConcurrentDoublyLinkedListTest {
+	private static final int THREADS = 4;
+	private static final int OPS_PER_THREAD = 200000;
+
+	@Test
+	public void testStackAndQueue() {
+		ConcurrentDoublyLinkedList<Integer> testList = new ConcurrentDoublyLinkedList<>();
+		assertTrue(testList.isEmpty());
+		assertNull("pop() on empty stack", testList.pop());
+		assertNull("popLast() on empty stack", testList.popLast());
+		testList.push(1);
+		testList.push(2);
+		testList.push(3);
+		assertEquals(3, testList.size());
+		assertEquals(3, (int) testList.pop());
+		assertEquals(1, (int) testList.popLast());
+		assertEquals(2, (int) testList.pop());
+		assertTrue(testList.isEmpty());
+
+		assertNull("dequeue() on empty queue", testList.dequeue());
+		testList.enqueue(1);
+		testList.enqueue(2);
+		testList.enqueue(3);
+		assertFalse(testList.isEmpty());
+		assertEquals(1, (int) testList.dequeue());
+		assertEquals(2, (int) testList.dequeue());
+		assertEquals(3, (int) testList.dequeue());
+		assertNull(testList.dequeue());
+		assertEquals(0, testList.size());
+	}
+
+	/**
+	 * Compare random sequences of operations at both ends against an ArrayDeque
+	 */
+	@Test
+	public void testRandomOperations() {
+		Random rand = new Random(21);
+		ConcurrentDoublyLinkedList<Integer> testList = new ConcurrentDoublyLinkedList<>();
+		Deque<Integer> expected = new ArrayDeque<>();
+		for (int op = 0; op < 100000; op++) {
+			int value = rand.nextInt(1000);
+			switch (rand.nextInt(4)) {
+				case 0:
+					testList.push(value);
+					expected.addFirst(value);
+					break;
+				case 1:
+					testList.enqueue(value);
+					expected.addLast(value);
+					break;
+				case 2:
+					assertEquals(expected.pollFirst(), testList.pop());
+					break;
+				default:
+					assertEquals(expected.pollLast(), testList.popLast());
+					break;
+			}
+			assertEquals(expected.size(), testList.size());
+			assertEquals(expected.isEmpty(), testList.isEmpty());
+		}
+	}
+
+	/**
+	 * Runs the same task on several threads at once, failing if any of them throws
+	 */
+	private static void runThreads(final Runnable task) throws InterruptedException {
+		final CountDownLatch start = new CountDownLatch(1);
+		final AtomicReference<Throwable> failure = new AtomicReference<>();
+		Thread[] threads = new Thread[THREADS];
+		for (int t = 0; t < THREADS; t++) {
+			threads[t] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						start.await();
+						task.run();
+					} catch (Throwable ex) {
+						failure.compareAndSet(null, ex);
+					}
+				}
+			});
+			threads[t].start();
+		}
+		start.countDown();
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		if (failure.get() != null) {
+			throw new AssertionError(failure.get());
+		}
+	}
+
+	/**
+	 * Every element pushed at either end by any thread is popped exactly once
+	 */
+	@Test
+	public void testConcurrentPushAndPop() throws InterruptedException {
+		final ConcurrentDoublyLinkedList<Integer> testList = new ConcurrentDoublyLinkedList<>();
+		final int[] seen = new int[THREADS * OPS_PER_THREAD];
+		final AtomicInteger nextThread = new AtomicInteger();
+
+		runThreads(new Runnable() {
+			@Override
+			public void run() {
+				int thread = nextThread.getAndIncrement();
+				Random rand = new Random(thread);
+				for (int i = 0; i < OPS_PER_THREAD; i++) {
+					Integer value = thread * OPS_PER_THREAD + i;
+					if (rand.nextBoolean()) {
+						testList.push(value);
+					} else {
+						testList.enqueue(value);
+					}
+					Integer popped = rand.nextBoolean() ? testList.pop() : testList.popLast();
+					// There's always at least one element, since this thread has just added one
+					synchronized (seen) {
+						seen[popped]++;
+					}
+				}
+			}
+		});
+
+		assertTrue(testList.isEmpty());
+		assertEquals(0, testList.size());
+		for (int count : seen) {
+			assertEquals(1, count);
+		}
+	}
+
+	/**
+	 * Each thread dequeues the elements enqueued by any one thread in the order they were enqueued
+	 */
+	@Test
+	public void testConcurrentQueueOrder() throws InterruptedException {
+		final ConcurrentDoublyLinkedList<Integer> testList = new ConcurrentDoublyLinkedList<>();
+		final AtomicInteger nextThread = new AtomicInteger();
+		final AtomicInteger dequeued = new AtomicInteger();
+
+		runThreads(new Runnable() {
+			@Override
+			public void run() {
+				int thread = nextThread.getAndIncrement();
+				// The last element this thread has dequeued from each thread
+				int[] last = new int[THREADS];
+				for (int t = 0; t < THREADS; t++) {
+					last[t] = -1;
+				}
+				for (int i = 0; i < OPS_PER_THREAD; i++) {
+					testList.enqueue(thread * OPS_PER_THREAD + i);
+					int value = testList.dequeue();
+					int from = value / OPS_PER_THREAD;
+					assertTrue("FIFO order per producer", value % OPS_PER_THREAD > last[from]);
+					last[from] = value % OPS_PER_THREAD;
+					dequeued.incrementAndGet();
+				}
+			}
+		});
+
+		assertNull(testList.dequeue());
+		assertEquals(THREADS * OPS_PER_THREAD, dequeued.get());
+	}
+}
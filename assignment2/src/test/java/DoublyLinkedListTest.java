@@ -2,11 +2,20 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
 /**
  * Test class for Doubly Linked List
  *
@@ -15,6 +24,17 @@ import org.junit.runners.JUnit4;
  */
 @RunWith(JUnit4.class)
 public class DoublyLinkedListTest {
+	private static String join(List<Integer> list) {
+		StringBuilder s = new StringBuilder();
+		for (int i = 0; i < list.size(); i++) {
+			if (i > 0) {
+				s.append(",");
+			}
+			s.append(list.get(i));
+		}
+		return s.toString();
+	}
+
 	@Test
 	public void testSize() {
 		DoublyLinkedList<Integer> testList = new DoublyLinkedList<>();
@@ -213,4 +233,409 @@ public class DoublyLinkedListTest {
 		testList.makeUnique();
 		assertEquals("makeUnique()", "A,B,null,C,D", testList.toString());
 	}
+
+	/**
+	 * BigDecimal's compareTo() is inconsistent with equals(): 1.0 and 1.00 compare as equal
+	 */
+	@Test
+	public void testMakeUniqueSorted() {
+		DoublyLinkedList<BigDecimal> testList = new DoublyLinkedList<>();
+		for (String s : new String[] {"1.0", "2", null, "1.00", "3", "2", null, "1.0"}) {
+			testList.enqueue(s == null ? null : new BigDecimal(s));
+		}
+
+		testList.makeUnique();
+		assertEquals("makeUnique() compares with equals()", "1.0,2,null,1.00,3", testList.toString());
+		testList.makeUniqueSorted();
+		assertEquals("makeUniqueSorted() compares with compareTo()", "1.0,2,null,3", testList.toString());
+
+		testList.clear();
+		testList.makeUniqueSorted();
+		assertEquals("makeUniqueSorted() on an empty list", "", testList.toString());
+	}
+
+	/**
+	 * Both variants on a list which would take far too long to dedupe in quadratic time
+	 */
+	@Test
+	public void testMakeUniqueLarge() {
+		DoublyLinkedList<Integer> testList = new DoublyLinkedList<>();
+		DoublyLinkedList<Integer> sortedList = new DoublyLinkedList<>();
+		for (int i = 0; i < 500000; i++) {
+			testList.enqueue(i % 1000 * 7919 % 100003);
+			sortedList.enqueue(i % 1000 * 7919 % 100003);
+		}
+
+		testList.makeUnique();
+		sortedList.makeUniqueSorted();
+		assertEquals(1000, testList.size());
+		assertEquals(testList.toString(), sortedList.toString());
+		assertEquals("The first occurrences are kept in order", 7919, (int) testList.get(1));
+	}
+
+	@Test
+	public void testNodePool() {
+		DoublyLinkedList<Integer> testList = new DoublyLinkedList<>(4);
+		for (int i = 0; i < 4; i++) {
+			testList.enqueue(i);
+		}
+		assertEquals(0, testList.poolHits());
+		assertEquals(4, testList.poolMisses());
+
+		// Steady-state queue churn reuses the dequeued nodes
+		for (int i = 4; i < 1004; i++) {
+			assertEquals(i - 4, (int) testList.dequeue());
+			testList.enqueue(i);
+		}
+		assertEquals("1000,1001,1002,1003", testList.toString());
+		assertEquals(1000, testList.poolHits());
+		assertEquals(4, testList.poolMisses());
+
+		// The pool keeps at most 4 nodes
+		for (int i = 0; i < 10; i++) {
+			testList.push(i);
+		}
+		while (!testList.isEmpty()) {
+			testList.pop();
+		}
+		for (int i = 0; i < 10; i++) {
+			testList.insertBefore(i / 2, i);
+		}
+		assertEquals("1,3,5,7,9,8,6,4,2,0", testList.toString());
+		assertEquals(1000 + 4, testList.poolHits());
+		assertEquals(4 + 10 + 6, testList.poolMisses());
+
+		// Recycled nodes don't disturb the deletions in makeUnique() or makeUniqueSorted()
+		for (int i = 0; i < 10; i++) {
+			testList.enqueue(i);
+		}
+		testList.makeUnique();
+		assertEquals("1,3,5,7,9,8,6,4,2,0", testList.toString());
+		testList.deleteAt(0);
+		testList.enqueue(1);
+		testList.enqueue(3);
+		testList.enqueue(3);
+		testList.makeUniqueSorted();
+		assertEquals("3,5,7,9,8,6,4,2,0,1", testList.toString());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNegativePoolCapacity() {
+		new DoublyLinkedList<Integer>(-1);
+	}
+
+	@Test
+	public void testCursor() {
+		DoublyLinkedList<Integer> testList = new DoublyLinkedList<>();
+		for (int i = 0; i < 10; i++) {
+			testList.enqueue(i);
+		}
+
+		// Delete every third element in one pass
+		DoublyLinkedList<Integer>.Cursor cursor = testList.cursor();
+		for (int i = 0; cursor.hasNext(); i++) {
+			cursor.next();
+			if (i % 3 == 2) {
+				cursor.remove();
+			}
+		}
+		assertEquals("0,1,3,4,6,7,9", testList.toString());
+		assertEquals(7, cursor.nextIndex());
+
+		// Walk back, editing around the cursor
+		assertEquals(9, (int) cursor.previous());
+		cursor.set(90);
+		assertEquals(7, (int) cursor.previous());
+		cursor.remove();
+		assertEquals("0,1,3,4,6,90", testList.toString());
+		assertEquals(5, cursor.nextIndex());
+		cursor.insertBefore(-1);
+		cursor.insertAfter(-2);
+		assertEquals("0,1,3,4,6,-1,-2,90", testList.toString());
+		assertEquals(-2, (int) cursor.next());
+		assertEquals(-2, (int) cursor.previous());
+		assertEquals(-1, (int) cursor.previous());
+		assertEquals(4, cursor.previousIndex());
+
+		cursor = testList.cursor(testList.size());
+		assertFalse(cursor.hasNext());
+		cursor.insertAfter(100);
+		cursor.add(99);
+		assertEquals("0,1,3,4,6,-1,-2,90,99,100", testList.toString());
+		assertEquals(0, (int) testList.dequeue());
+
+		cursor = testList.cursor();
+		cursor.insertBefore(-3);
+		assertEquals(-3, (int) testList.get(0));
+		assertEquals(1, (int) cursor.next());
+		assertEquals(10, testList.size());
+	}
+
+	@Test
+	public void testCursorErrors() {
+		DoublyLinkedList<Integer> testList = new DoublyLinkedList<>();
+		DoublyLinkedList<Integer>.Cursor cursor = testList.cursor();
+		try {
+			cursor.next();
+			fail("next() at the end");
+		} catch (NoSuchElementException ex) {
+			// expected
+		}
+		try {
+			cursor.remove();
+			fail("remove() before next()");
+		} catch (IllegalStateException ex) {
+			// expected
+		}
+		try {
+			testList.cursor(1);
+			fail("cursor() past the end");
+		} catch (IndexOutOfBoundsException ex) {
+			// expected
+		}
+
+		testList.enqueue(1);
+		try {
+			cursor.hasNext();
+			cursor.next();
+			fail("next() after the list was changed by enqueue()");
+		} catch (ConcurrentModificationException ex) {
+			// expected
+		}
+
+		DoublyLinkedList<Integer>.Cursor first = testList.cursor(), second = testList.cursor();
+		first.next();
+		first.remove();
+		try {
+			second.next();
+			fail("next() after the list was changed by another cursor");
+		} catch (ConcurrentModificationException ex) {
+			// expected
+		}
+		assertTrue(testList.isEmpty());
+	}
+
+	@Test
+	public void testAppendSpliceAndSplit() {
+		DoublyLinkedList<Integer> testList = new DoublyLinkedList<>();
+		DoublyLinkedList<Integer> other = new DoublyLinkedList<>();
+		for (int i = 0; i < 3; i++) {
+			testList.enqueue(i);
+			other.enqueue(10 + i);
+		}
+
+		testList.append(other);
+		assertEquals("0,1,2,10,11,12", testList.toString());
+		assertEquals(6, testList.size());
+		assertTrue(other.isEmpty());
+		testList.append(other);
+		assertEquals("Appending an empty list", "0,1,2,10,11,12", testList.toString());
+
+		other.enqueue(20);
+		other.enqueue(21);
+		testList.spliceAt(3, other);
+		assertEquals("0,1,2,20,21,10,11,12", testList.toString());
+		other.push(30);
+		testList.spliceAt(-5, other);
+		assertEquals("30,0,1,2,20,21,10,11,12", testList.toString());
+		assertEquals(9, testList.size());
+		assertEquals(21, (int) testList.get(5));
+		assertEquals(0, other.size());
+
+		DoublyLinkedList<Integer> split = testList.splitAt(4);
+		assertEquals("30,0,1,2", testList.toString());
+		assertEquals("20,21,10,11,12", split.toString());
+		assertEquals(4, testList.size());
+		assertEquals(5, split.size());
+		assertEquals(12, (int) split.get(4));
+		testList.enqueue(3);
+		split.push(19);
+		assertEquals("30,0,1,2,3", testList.toString());
+		assertEquals("19,20,21,10,11,12", split.toString());
+
+		assertTrue("Splitting at the end", testList.splitAt(5).isEmpty());
+		DoublyLinkedList<Integer> all = testList.splitAt(0);
+		assertTrue(testList.isEmpty());
+		assertEquals("30,0,1,2,3", all.toString());
+		all.reverse();
+		all.append(split);
+		assertEquals("3,2,1,0,30,19,20,21,10,11,12", all.toString());
+		assertEquals(30, (int) all.get(4));
+	}
+
+	@Test
+	public void testSpliceFailFast() {
+		DoublyLinkedList<Integer> testList = new DoublyLinkedList<>();
+		DoublyLinkedList<Integer> other = new DoublyLinkedList<>();
+		testList.enqueue(1);
+		other.enqueue(2);
+		DoublyLinkedList<Integer>.Cursor cursor = testList.cursor(), otherCursor = other.cursor();
+		testList.append(other);
+		try {
+			cursor.next();
+			fail("next() after append() to the list");
+		} catch (ConcurrentModificationException ex) {
+			// expected
+		}
+		try {
+			otherCursor.next();
+			fail("next() after append() from the list");
+		} catch (ConcurrentModificationException ex) {
+			// expected
+		}
+		try {
+			testList.append(testList);
+			fail("append() to itself");
+		} catch (IllegalArgumentException ex) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testReverseIsLazy() {
+		DoublyLinkedList<Integer> testList = new DoublyLinkedList<>(2, true);
+		for (int i = 0; i < 5; i++) {
+			testList.enqueue(i);
+		}
+		testList.reverse();
+		assertEquals("4,3,2,1,0", testList.toString());
+		testList.push(5);
+		testList.enqueue(-1);
+		testList.insertBefore(3, 10);
+		assertEquals("5,4,3,10,2,1,0,-1", testList.toString());
+		assertEquals(5, (int) testList.pop());
+		assertTrue(testList.deleteAt(6));
+		assertEquals("4,3,10,2,1,0", testList.toString());
+		assertEquals(1, (int) testList.get(4));
+
+		DoublyLinkedList<Integer>.Cursor cursor = testList.cursor(2);
+		assertEquals(10, (int) cursor.next());
+		cursor.remove();
+		cursor.insertAfter(11);
+		assertEquals(3, (int) cursor.previous());
+		assertEquals("4,3,11,2,1,0", testList.toString());
+
+		testList.reverse();
+		assertEquals("0,1,2,11,3,4", testList.toString());
+		testList.reverse();
+		testList.makeUnique();
+		assertEquals("4,3,11,2,1,0", testList.toString());
+	}
+
+	/**
+	 * Splices between lists in each combination of reverse modes and orientations
+	 */
+	@Test
+	public void testSpliceReverseModes() {
+		for (int mode = 0; mode < 4; mode++) {
+			for (int reversals = 0; reversals < 4; reversals++) {
+				DoublyLinkedList<Integer> first = new DoublyLinkedList<>(0, (mode & 1) != 0);
+				DoublyLinkedList<Integer> second = new DoublyLinkedList<>(0, (mode & 2) != 0);
+				for (int i = 0; i < 3; i++) {
+					first.enqueue(i);
+				}
+				for (int i = 10; i < 15; i++) {
+					second.enqueue(i);
+				}
+				if ((reversals & 1) != 0) {
+					first.reverse();
+				}
+				if ((reversals & 2) != 0) {
+					second.reverse();
+				}
+				String expected = (reversals & 1) != 0 ? "2,1,0" : "0,1,2";
+				String expectedSecond = (reversals & 2) != 0 ? "14,13,12,11,10" : "10,11,12,13,14";
+
+				first.spliceAt(1, second);
+				assertEquals(expected.substring(0, 2) + expectedSecond + expected.substring(1), first.toString());
+				assertTrue(second.isEmpty());
+				first.reverse();
+				second.enqueue(20);
+				second.append(first);
+				first.push(30);
+				assertEquals("30", first.toString());
+				assertEquals(9, second.size());
+				assertEquals(20, (int) second.get(0));
+				assertEquals(expected.substring(0, 1), second.get(8).toString());
+			}
+		}
+	}
+
+	/**
+	 * Compare random sequences of operations, including splices between lists with different
+	 * orientations, against ArrayLists
+	 */
+	@Test
+	public void testRandomOperationsWithReverse() {
+		Random rand = new Random(25);
+		DoublyLinkedList<Integer> testList = new DoublyLinkedList<>(8, true);
+		DoublyLinkedList<Integer> other = new DoublyLinkedList<>();
+		List<Integer> expected = new ArrayList<>(), expectedOther = new ArrayList<>();
+
+		for (int op = 0; op < 20000; op++) {
+			int pos = rand.nextInt(expected.size() + 3) - 1;
+			int clamped = Math.max(0, Math.min(pos, expected.size()));
+			int value = rand.nextInt(50);
+			switch (rand.nextInt(10)) {
+				case 0:
+				case 1:
+					testList.insertBefore(pos, value);
+					expected.add(clamped, value);
+					break;
+				case 2:
+					boolean inBounds = pos >= 0 && pos < expected.size();
+					assertEquals(inBounds, testList.deleteAt(pos));
+					if (inBounds) {
+						expected.remove(pos);
+					}
+					break;
+				case 3:
+					testList.push(value);
+					expected.add(0, value);
+					break;
+				case 4:
+					assertEquals(expected.isEmpty() ? null : expected.remove(0), testList.dequeue());
+					break;
+				case 5:
+					testList.reverse();
+					Collections.reverse(expected);
+					break;
+				case 6:
+					other.enqueue(value);
+					expectedOther.add(value);
+					if (rand.nextInt(4) == 0) {
+						other.reverse();
+						Collections.reverse(expectedOther);
+					}
+					break;
+				case 7:
+					if (rand.nextInt(5) == 0) {
+						testList.spliceAt(pos, other);
+						expected.addAll(clamped, expectedOther);
+						expectedOther.clear();
+					}
+					break;
+				case 8:
+					if (rand.nextInt(5) == 0) {
+						DoublyLinkedList<Integer> split = testList.splitAt(pos);
+						List<Integer> tail = expected.subList(clamped, expected.size());
+						assertEquals(join(tail), split.toString());
+						split.reverse();
+						other.append(split);
+						assertTrue(split.isEmpty());
+						Collections.reverse(tail);
+						expectedOther.addAll(tail);
+						tail.clear();
+					}
+					break;
+				default:
+					assertEquals(pos >= 0 && pos < expected.size() ? expected.get(pos) : null, testList.get(pos));
+					break;
+			}
+			assertEquals(expected.size(), testList.size());
+			assertEquals(expectedOther.size(), other.size());
+		}
+		assertEquals(join(expected), testList.toString());
+		assertEquals(join(expectedOther), other.toString());
+	}
 }
@@ -0,0 +1,42 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.Random;
+
+/**
+ * Test class for IndexedDoublyLinkedList
+ *
+ * @author Jack O'Sullivan
+ * @version 15/10/18 11:46:02
+ */
+@RunWith(JUnit4.class)
+public class IndexedDoublyLinkedListTest extends PositionalListTest {
+	@Override
+	<T extends Comparable<T>> PositionalList<T> newList() {
+		return new IndexedDoublyLinkedList<T>();
+	}
+
+	/**
+	 * Positional operations on a large list, which would take minutes if they were linear
+	 */
+	@Test
+	public void testLargeList() {
+		Random rand = new Random(18);
+		IndexedDoublyLinkedList<Integer> testList = new IndexedDoublyLinkedList<>();
+		for (int i = 0; i < 1000000; i++) {
+			testList.enqueue(i);
+		}
+		for (int i = 0; i < 100000; i++) {
+			int pos = rand.nextInt(testList.size());
+			testList.insertBefore(pos, -1);
+			assertEquals(-1, (int) testList.get(pos));
+			assertTrue(testList.deleteAt(pos));
+		}
+		assertEquals(1000000, testList.size());
+		assertEquals(500000, (int) testList.get(500000));
+	}
+}
@@ -0,0 +1,203 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Tests of the PositionalList API which every implementation must pass. The test class of each
+ * implementation extends this one, adding tests of its own structure.
+ *
+ * @author Jack O'Sullivan
+ * @version 18/10/18 15:20:44
+ */
+public abstract class PositionalListTest {
+	/**
+	 * @return a new, empty list of the implementation being tested.
+	 */
+	abstract <T extends Comparable<T>> PositionalList<T> newList();
+
+	static String join(List<Integer> list) {
+		StringBuilder s = new StringBuilder();
+		for (int i = 0; i < list.size(); i++) {
+			if (i > 0) {
+				s.append(",");
+			}
+			s.append(list.get(i));
+		}
+		return s.toString();
+	}
+
+	@Test
+	public void testInsertBefore() {
+		PositionalList<Integer> testList = newList();
+		testList.insertBefore(0, 1);
+		testList.insertBefore(1, 2);
+		testList.insertBefore(2, 3);
+
+		testList.insertBefore(0, 4);
+		assertEquals("4,1,2,3", testList.toString());
+		testList.insertBefore(1, 5);
+		assertEquals("4,5,1,2,3", testList.toString());
+		testList.insertBefore(2, 6);
+		assertEquals("4,5,6,1,2,3", testList.toString());
+		testList.insertBefore(-1, 7);
+		assertEquals("insertBefore() at position -1", "7,4,5,6,1,2,3", testList.toString());
+		testList.insertBefore(700, 8);
+		assertEquals("insertBefore() past the end", "7,4,5,6,1,2,3,8", testList.toString());
+		assertEquals(8, testList.size());
+	}
+
+	@Test
+	public void testGetAndDeleteAt() {
+		PositionalList<Integer> testList = newList();
+		assertNull("get() on an empty list", testList.get(0));
+		assertFalse("deleteAt() on empty list", testList.deleteAt(0));
+
+		for (int i = 0; i < 4; i++) {
+			testList.enqueue(i + 1);
+		}
+		assertNull("get() on index less than 0", testList.get(-1));
+		assertNull("get() on index greater than size - 1", testList.get(testList.size()));
+		assertEquals(1, (int) testList.get(0));
+		assertEquals(3, (int) testList.get(2));
+		assertEquals(4, (int) testList.get(3));
+
+		assertFalse(testList.deleteAt(4));
+		assertTrue(testList.deleteAt(1));
+		assertEquals("1,3,4", testList.toString());
+		assertTrue(testList.deleteAt(2));
+		assertEquals("1,3", testList.toString());
+		assertTrue(testList.deleteAt(0));
+		assertTrue(testList.deleteAt(0));
+		assertTrue(testList.isEmpty());
+	}
+
+	@Test
+	public void testStackAndQueue() {
+		PositionalList<Integer> testList = newList();
+		assertNull("pop() on empty stack", testList.pop());
+		testList.push(1);
+		testList.push(2);
+		testList.push(3);
+		assertEquals("3,2,1", testList.toString());
+		assertEquals(3, (int) testList.pop());
+		assertEquals(2, (int) testList.pop());
+
+		testList.clear();
+		assertNull("dequeue() on empty queue", testList.dequeue());
+		testList.enqueue(1);
+		testList.enqueue(2);
+		testList.enqueue(3);
+		assertEquals("1,2,3", testList.toString());
+		assertEquals(1, (int) testList.dequeue());
+		assertEquals(2, (int) testList.dequeue());
+		assertEquals(3, (int) testList.dequeue());
+		assertTrue(testList.isEmpty());
+	}
+
+	@Test
+	public void testReverseAndMakeUnique() {
+		PositionalList<String> testList = newList();
+		testList.reverse();
+		assertEquals("", testList.toString());
+
+		for (String s : new String[] {"A", "B", null, "C", "B", "D", null, "A"}) {
+			testList.enqueue(s);
+		}
+		testList.makeUnique();
+		assertEquals("A,B,null,C,D", testList.toString());
+		testList.enqueue("B");
+		testList.enqueue(null);
+		testList.makeUniqueSorted();
+		assertEquals("A,B,null,C,D", testList.toString());
+		testList.reverse();
+		assertEquals("D,C,null,B,A", testList.toString());
+		assertEquals("B", testList.get(3));
+	}
+
+	/**
+	 * Compare random sequences of every operation against an ArrayList
+	 */
+	@Test
+	public void testRandomOperations() {
+		Random rand = new Random(17);
+		PositionalList<Integer> testList = newList();
+		List<Integer> expected = new ArrayList<>();
+
+		for (int op = 0; op < 20000; op++) {
+			int pos = rand.nextInt(expected.size() + 3) - 1;
+			int value = rand.nextInt(50);
+			switch (rand.nextInt(12)) {
+				case 0:
+				case 1:
+				case 2:
+					testList.insertBefore(pos, value);
+					expected.add(Math.max(0, Math.min(pos, expected.size())), value);
+					break;
+				case 3:
+				case 4:
+					boolean inBounds = pos >= 0 && pos < expected.size();
+					assertEquals(inBounds, testList.deleteAt(pos));
+					if (inBounds) {
+						expected.remove(pos);
+					}
+					break;
+				case 5:
+					testList.push(value);
+					expected.add(0, value);
+					break;
+				case 6:
+					assertEquals(expected.isEmpty() ? null : expected.remove(0), testList.pop());
+					break;
+				case 7:
+					testList.enqueue(value);
+					expected.add(value);
+					break;
+				case 8:
+					assertEquals(expected.isEmpty() ? null : expected.remove(0), testList.dequeue());
+					break;
+				case 9:
+					assertEquals(pos >= 0 && pos < expected.size() ? expected.get(pos) : null, testList.get(pos));
+					break;
+				case 10:
+					if (rand.nextInt(20) == 0) {
+						testList.reverse();
+						Collections.reverse(expected);
+					}
+					break;
+				default:
+					if (rand.nextInt(50) == 0) {
+						if (rand.nextBoolean()) {
+							testList.makeUnique();
+						} else {
+							testList.makeUniqueSorted();
+						}
+						List<Integer> unique = new ArrayList<>();
+						for (Integer x : expected) {
+							if (!unique.contains(x)) {
+								unique.add(x);
+							}
+						}
+						expected = unique;
+					}
+					break;
+			}
+			assertEquals(expected.size(), testList.size());
+
+			if (op % 500 == 0) {
+				assertEquals(join(expected), testList.toString());
+				for (int i = 0; i < expected.size(); i++) {
+					assertEquals(expected.get(i), testList.get(i));
+				}
+			}
+		}
+		assertEquals(join(expected), testList.toString());
+	}
+}
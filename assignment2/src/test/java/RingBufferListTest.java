@@ -0,0 +1,66 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Test class for RingBufferList
+ *
+ * @author Jack O'Sullivan
+ * @version 17/10/18 19:30:02
+ */
+@RunWith(JUnit4.class)
+public class RingBufferListTest extends PositionalListTest {
+	@Override
+	<T extends Comparable<T>> PositionalList<T> newList() {
+		return new RingBufferList<T>();
+	}
+
+	/**
+	 * Grow the array while the elements wrap around its end, and insert and delete on both sides of the middle
+	 */
+	@Test
+	public void testWrapAndGrow() {
+		RingBufferList<Integer> testList = new RingBufferList<>();
+		List<Integer> expected = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			testList.enqueue(i);
+			expected.add(i);
+		}
+		for (int i = 0; i < 500; i++) {
+			// Move the elements around the array so that they wrap
+			assertEquals(expected.remove(0), testList.dequeue());
+			testList.enqueue(i);
+			expected.add(i);
+			testList.push(-i);
+			expected.add(0, -i);
+			int pos = expected.size() / 3 * (i % 3);
+			testList.insertBefore(pos, 1000 + i);
+			expected.add(pos, 1000 + i);
+			if (i % 2 == 0) {
+				pos = expected.size() - 1 - pos;
+				assertTrue(testList.deleteAt(pos));
+				expected.remove(pos);
+			}
+			assertEquals(expected.size(), testList.size());
+		}
+		assertEquals(join(expected), testList.toString());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.get(i), testList.get(i));
+		}
+
+		testList.reverse();
+		Collections.reverse(expected);
+		assertEquals(join(expected), testList.toString());
+		testList.clear();
+		assertEquals("", testList.toString());
+		assertNull(testList.get(0));
+	}
+}
@@ -0,0 +1,125 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Test class for UnrolledLinkedList
+ *
+ * @author Jack O'Sullivan
+ * @version 16/10/18 15:20:44
+ */
+@RunWith(JUnit4.class)
+public class UnrolledLinkedListTest extends PositionalListTest {
+	@Override
+	<T extends Comparable<T>> PositionalList<T> newList() {
+		return new UnrolledLinkedList<T>();
+	}
+
+	/**
+	 * Fill and empty many chunks from the middle and both ends, so that they are split and merged
+	 */
+	@Test
+	public void testChunkBoundaries() {
+		UnrolledLinkedList<Integer> testList = new UnrolledLinkedList<>();
+		List<Integer> expected = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			testList.enqueue(i);
+			expected.add(i);
+			testList.push(-i);
+			expected.add(0, -i);
+		}
+		for (int i = 0; i < 1000; i++) {
+			int pos = expected.size() / 2;
+			testList.insertBefore(pos, 10000 + i);
+			expected.add(pos, 10000 + i);
+		}
+		assertEquals(join(expected), testList.toString());
+
+		// Delete every other element, leaving every chunk less than half full unless merged
+		for (int pos = 0; pos < expected.size(); pos++) {
+			assertTrue(testList.deleteAt(pos));
+			expected.remove(pos);
+		}
+		assertEquals(join(expected), testList.toString());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.get(i), testList.get(i));
+		}
+
+		while (!expected.isEmpty()) {
+			assertEquals(expected.remove(0), testList.dequeue());
+			if (!expected.isEmpty()) {
+				assertTrue(testList.deleteAt(expected.size() - 1));
+				expected.remove(expected.size() - 1);
+			}
+		}
+		assertTrue(testList.isEmpty());
+		assertEquals("", testList.toString());
+	}
+
+	/**
+	 * Deletions from a chunk next to a full one take elements from it, so that every chunk but the
+	 * first and last stays at least half full
+	 */
+	@Test
+	public void testChunksStayHalfFull() {
+		Random rand = new Random(19);
+		UnrolledLinkedList<Integer> testList = new UnrolledLinkedList<>();
+		List<Integer> expected = new ArrayList<>();
+		for (int i = 0; i < 100 * UnrolledLinkedList.CHUNK_CAPACITY; i++) {
+			testList.enqueue(i);
+			expected.add(i);
+		}
+
+		for (int op = 0; op < 20000; op++) {
+			// Mostly delete from the first half, so that its chunks empty next to full ones
+			int pos = rand.nextInt(expected.size() / (op % 4 == 0 ? 1 : 2) + 1);
+			if (op % 3 == 0) {
+				testList.insertBefore(pos, -op);
+				expected.add(Math.min(pos, expected.size()), -op);
+			} else if (pos < expected.size()) {
+				assertTrue(testList.deleteAt(pos));
+				expected.remove(pos);
+			}
+
+			int[] counts = testList.chunkCounts();
+			for (int c = 1; c < counts.length - 1; c++) {
+				assertTrue("chunk " + c + " of " + counts.length + " holds " + counts[c],
+						counts[c] >= UnrolledLinkedList.CHUNK_CAPACITY / 2);
+			}
+		}
+		assertEquals(join(expected), testList.toString());
+	}
+
+	/**
+	 * makeUnique() packs the remaining elements into fewer chunks
+	 */
+	@Test
+	public void testMakeUniqueLarge() {
+		UnrolledLinkedList<Integer> testList = new UnrolledLinkedList<>();
+		for (int i = 0; i < 100000; i++) {
+			testList.enqueue(i % 1000);
+		}
+		testList.makeUnique();
+		assertEquals(1000, testList.size());
+		for (int i = 0; i < 1000; i++) {
+			assertEquals(i, (int) testList.get(i));
+		}
+		testList.enqueue(1000);
+		assertEquals("0,1,2", testList.toString().substring(0, 5));
+		assertEquals(1000, (int) testList.get(1000));
+
+		for (int i = 0; i < 100000; i++) {
+			testList.push(i % 7);
+		}
+		testList.makeUniqueSorted();
+		assertEquals(1001, testList.size());
+		assertEquals("4,3,2,1,0,6,5,7,8", testList.toString().substring(0, 17));
+	}
+}
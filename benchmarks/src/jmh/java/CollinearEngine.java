@@ -0,0 +1,25 @@
+import edu.osullj19.bench.CountingEngine;
+
+/**
+ * Adapts Collinear.count() to the CountingEngine interface used by the benchmarks.
+ *
+ * @author Jack O'Sullivan
+ * @version 03/10/18 15:27:09
+ */
+public class CollinearEngine implements CountingEngine {
+	private final Collinear.Strategy strategy;
+
+	public CollinearEngine(String strategy) {
+		this.strategy = Collinear.Strategy.valueOf(strategy);
+	}
+
+	@Override
+	public long count(int[] a1, int[] a2, int[] a3) {
+		if (strategy == Collinear.Strategy.BINARY_SEARCH) {
+			// countCollinearFast() sorts a3 in place, which would make every later invocation
+			// sort an already sorted array
+			a3 = a3.clone();
+		}
+		return Collinear.count(strategy, a1, a2, a3);
+	}
+}
@@ -0,0 +1,87 @@
+import edu.osullj19.bench.DequeEngine;
+
+/**
+ * Adapts the thread-safe deques to the DequeEngine interface used by the concurrent benchmarks.
+ *
+ * @author Jack O'Sullivan
+ * @version 17/10/18 16:12:35
+ */
+public abstract class DequeAdapter implements DequeEngine {
+	public enum Kind {
+		/**
+		 * DoublyLinkedList with every call synchronized on the list, i.e. a global lock.
+		 */
+		SYNCHRONIZED,
+		/**
+		 * ConcurrentDoublyLinkedList.
+		 */
+		LOCK_FREE
+	}
+
+	public static DequeEngine create(String kind) {
+		switch (Kind.valueOf(kind)) {
+			case SYNCHRONIZED:
+				return new Synchronized();
+			case LOCK_FREE:
+				return new LockFree();
+			default:
+				throw new AssertionError(kind);
+		}
+	}
+
+	private static class Synchronized extends DequeAdapter {
+		private final DoublyLinkedList<Integer> list = new DoublyLinkedList<>();
+
+		@Override
+		public void push(Integer item) {
+			synchronized (list) {
+				list.push(item);
+			}
+		}
+
+		@Override
+		public Integer pop() {
+			synchronized (list) {
+				return list.pop();
+			}
+		}
+
+		@Override
+		public void enqueue(Integer item) {
+			synchronized (list) {
+				list.enqueue(item);
+			}
+		}
+
+		@Override
+		public Integer dequeue() {
+			synchronized (list) {
+				return list.dequeue();
+			}
+		}
+	}
+
+	private static class LockFree extends DequeAdapter {
+		private final ConcurrentDoublyLinkedList<Integer> list = new ConcurrentDoublyLinkedList<>();
+
+		@Override
+		public void push(Integer item) {
+			list.push(item);
+		}
+
+		@Override
+		public Integer pop() {
+			return list.pop();
+		}
+
+		@Override
+		public void enqueue(Integer item) {
+			list.enqueue(item);
+		}
+
+		@Override
+		public Integer dequeue() {
+			return list.dequeue();
+		}
+	}
+}
@@ -0,0 +1,106 @@
+import edu.osullj19.bench.ListEngine;
+
+/**
+ * Adapts the lists in assignment2 to the ListEngine interface used by the benchmarks.
+ * <p>
+ * The lists all implement PositionalList, so a single adapter delegates to whichever kind of list
+ * it was created with.
+ *
+ * @author Jack O'Sullivan
+ * @version 18/10/18 16:32:08
+ */
+public final class ListAdapter implements ListEngine {
+	// Enough for the churn in the benchmarks, which delete at most one element before inserting
+	private static final int POOL_CAPACITY = 1024;
+
+	private final PositionalList<Integer> list;
+
+	public enum Kind {
+		/**
+		 * DoublyLinkedList, with a node per element.
+		 */
+		LINKED,
+		/**
+		 * DoublyLinkedList with a pool of POOL_CAPACITY recycled nodes.
+		 */
+		POOLED,
+		/**
+		 * UnrolledLinkedList, with up to UnrolledLinkedList.CHUNK_CAPACITY elements per node.
+		 */
+		UNROLLED,
+		/**
+		 * IndexedDoublyLinkedList, an indexable skip list.
+		 */
+		INDEXED,
+		/**
+		 * RingBufferList, a circular array.
+		 */
+		RING
+	}
+
+	private ListAdapter(PositionalList<Integer> list) {
+		this.list = list;
+	}
+
+	public static ListEngine create(String kind) {
+		switch (Kind.valueOf(kind)) {
+			case LINKED:
+				return new ListAdapter(new DoublyLinkedList<Integer>(0));
+			case POOLED:
+				return new ListAdapter(new DoublyLinkedList<Integer>(POOL_CAPACITY));
+			case UNROLLED:
+				return new ListAdapter(new UnrolledLinkedList<Integer>());
+			case INDEXED:
+				return new ListAdapter(new IndexedDoublyLinkedList<Integer>());
+			case RING:
+				return new ListAdapter(new RingBufferList<Integer>());
+			default:
+				throw new AssertionError(kind);
+		}
+	}
+
+	@Override
+	public int size() {
+		return list.size();
+	}
+
+	@Override
+	public void insertBefore(int pos, Integer data) {
+		list.insertBefore(pos, data);
+	}
+
+	@Override
+	public Integer get(int pos) {
+		return list.get(pos);
+	}
+
+	@Override
+	public boolean deleteAt(int pos) {
+		return list.deleteAt(pos);
+	}
+
+	@Override
+	public void push(Integer item) {
+		list.push(item);
+	}
+
+	@Override
+	public Integer pop() {
+		return list.pop();
+	}
+
+	@Override
+	public void enqueue(Integer item) {
+		list.enqueue(item);
+	}
+
+	@Override
+	public Integer dequeue() {
+		return list.dequeue();
+	}
+
+	@Override
+	public String toString() {
+		return list.toString();
+	}
+}
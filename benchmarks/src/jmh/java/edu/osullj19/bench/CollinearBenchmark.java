@@ -0,0 +1,61 @@
+package edu.osullj19.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the sub-cubic Collinear counting strategies (see CollinearCubicBenchmark for the
+ * brute force ones, which need much smaller inputs).
+ *
+ * @author Jack O'Sullivan
+ * @version 03/10/18 15:27:09
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class CollinearBenchmark {
+	/**
+	 * Fixed so that every run (and every release) benchmarks exactly the same input.
+	 */
+	static final long SEED = 0x2010L;
+
+	@Param({"BINARY_SEARCH", "HASH", "PARALLEL", "SWEEP", "CONVOLUTION", "AUTO", "COMPRESSED"})
+	public String strategy;
+
+	@Param({"1000", "4000", "16000"})
+	public int n;
+
+	@Param({"UNIFORM", "DUPLICATE_HEAVY", "GRID"})
+	public PointDistribution distribution;
+
+	private CountingEngine engine;
+	private int[] a1, a2, a3;
+
+	@Setup
+	public void setup() throws ReflectiveOperationException {
+		engine = CountingEngine.Loader.load(strategy);
+		int[][] a = distribution.generate(n, SEED + n);
+		a1 = a[0];
+		a2 = a[1];
+		a3 = a[2];
+	}
+
+	@Benchmark
+	public long count() {
+		return engine.count(a1, a2, a3);
+	}
+}
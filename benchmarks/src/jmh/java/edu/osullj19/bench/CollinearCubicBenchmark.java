@@ -0,0 +1,55 @@
+package edu.osullj19.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the brute force Collinear counting strategies.
+ *
+ * @author Jack O'Sullivan
+ * @version 03/10/18 15:27:09
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class CollinearCubicBenchmark {
+	@Param({"BRUTE_FORCE", "VECTOR"})
+	public String strategy;
+
+	@Param({"100", "200", "400"})
+	public int n;
+
+	@Param({"UNIFORM", "DUPLICATE_HEAVY", "GRID"})
+	public PointDistribution distribution;
+
+	private CountingEngine engine;
+	private int[] a1, a2, a3;
+
+	@Setup
+	public void setup() throws ReflectiveOperationException {
+		engine = CountingEngine.Loader.load(strategy);
+		int[][] a = distribution.generate(n, CollinearBenchmark.SEED + n);
+		a1 = a[0];
+		a2 = a[1];
+		a3 = a[2];
+	}
+
+	@Benchmark
+	public long count() {
+		return engine.count(a1, a2, a3);
+	}
+}
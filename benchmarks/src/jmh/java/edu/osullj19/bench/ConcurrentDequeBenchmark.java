@@ -0,0 +1,82 @@
+package edu.osullj19.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of a deque shared by many threads, comparing ConcurrentDoublyLinkedList
+ * with a DoublyLinkedList behind a global lock.
+ * <p>
+ * The stack and queue benchmarks run on 16 threads (override with -tg), each of which adds an
+ * element and then removes one, so the deque stays small. The producersConsumers group has 8
+ * threads enqueuing and 8 dequeuing; its dequeues can find the deque empty, and their
+ * throughput includes those misses. A new deque is created for every iteration, so that any
+ * backlog left by the producers doesn't carry over.
+ *
+ * @author Jack O'Sullivan
+ * @version 17/10/18 16:12:35
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+@State(Scope.Group)
+public class ConcurrentDequeBenchmark {
+	// Boxed once, so the benchmarks measure the deque rather than Integer.valueOf()
+	private static final Integer ITEM = 1000;
+
+	@Param({"SYNCHRONIZED", "LOCK_FREE"})
+	public String kind;
+
+	private DequeEngine deque;
+
+	@Setup(Level.Iteration)
+	public void setup() throws ReflectiveOperationException {
+		deque = DequeEngine.Loader.load(kind);
+	}
+
+	@Benchmark
+	@Group("stack")
+	@GroupThreads(16)
+	public Integer pushPop() {
+		deque.push(ITEM);
+		return deque.pop();
+	}
+
+	@Benchmark
+	@Group("queue")
+	@GroupThreads(16)
+	public Integer enqueueDequeue() {
+		deque.enqueue(ITEM);
+		return deque.dequeue();
+	}
+
+	@Benchmark
+	@Group("producersConsumers")
+	@GroupThreads(8)
+	public void produce() {
+		deque.enqueue(ITEM);
+	}
+
+	@Benchmark
+	@Group("producersConsumers")
+	@GroupThreads(8)
+	public Integer consume() {
+		return deque.dequeue();
+	}
+}
@@ -0,0 +1,28 @@
+package edu.osullj19.bench;
+
+/**
+ * An algorithm which counts collinear points, as Collinear.count() does.
+ * <p>
+ * JMH does not allow benchmarks in the default package, and classes in the default package (such
+ * as Collinear) can't be referred to from any other package, so the benchmarks only refer to this
+ * interface. It is implemented by the default package class CollinearEngine, which is loaded by name.
+ *
+ * @author Jack O'Sullivan
+ * @version 03/10/18 15:27:09
+ */
+public interface CountingEngine {
+	long count(int[] a1, int[] a2, int[] a3);
+
+	class Loader {
+		private Loader() {
+		}
+
+		/**
+		 * @param strategy: The name of a Collinear.Strategy.
+		 * @return the engine for that strategy.
+		 */
+		public static CountingEngine load(String strategy) throws ReflectiveOperationException {
+			return (CountingEngine)Class.forName("CollinearEngine").getConstructor(String.class).newInstance(strategy);
+		}
+	}
+}
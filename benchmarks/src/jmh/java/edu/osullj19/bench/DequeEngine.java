@@ -0,0 +1,34 @@
+package edu.osullj19.bench;
+
+/**
+ * The stack and queue API of DoublyLinkedList for Integers, which is shared by every list in
+ * assignment2 and by ConcurrentDoublyLinkedList.
+ * <p>
+ * As with ListEngine, the implementations are adapted to this interface by a default package
+ * class, DequeAdapter, which is loaded by name.
+ *
+ * @author Jack O'Sullivan
+ * @version 17/10/18 16:12:35
+ */
+public interface DequeEngine {
+	void push(Integer item);
+
+	Integer pop();
+
+	void enqueue(Integer item);
+
+	Integer dequeue();
+
+	class Loader {
+		private Loader() {
+		}
+
+		/**
+		 * @param kind: The name of a DequeAdapter.Kind.
+		 * @return a new, empty deque of that kind.
+		 */
+		public static DequeEngine load(String kind) throws ReflectiveOperationException {
+			return (DequeEngine)Class.forName("DequeAdapter").getMethod("create", String.class).invoke(null, kind);
+		}
+	}
+}
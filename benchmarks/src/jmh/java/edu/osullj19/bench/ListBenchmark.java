@@ -0,0 +1,117 @@
+package edu.osullj19.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the layouts of the lists in assignment2 on a list of n elements.
+ * <p>
+ * build() allocates a whole list, so the GC profiler (which `gradle :benchmarks:jmh` runs by
+ * default, see build.gradle) reports the memory used per list in gc.alloc.rate.norm. The Integers themselves come from a shared array, so only the list's own
+ * memory is counted. Likewise, gc.alloc.rate.norm for enqueueDequeue() and insertDeleteRandom()
+ * shows whether the steady state allocates (it shouldn't for POOLED).
+ *
+ * @author Jack O'Sullivan
+ * @version 18/10/18 16:58:40
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ListBenchmark {
+	static final long SEED = 0x2019L;
+	// The number of random positions cycled through by the positional benchmarks
+	private static final int POSITIONS = 1 << 10;
+
+	@Param({"LINKED", "POOLED", "UNROLLED", "INDEXED", "RING"})
+	public String kind;
+
+	@Param({"1000", "100000"})
+	public int n;
+
+	private ListEngine list;
+	private Integer[] values;
+	private int[] positions;
+	private int next;
+
+	@Setup
+	public void setup() throws ReflectiveOperationException {
+		Random rand = new Random(SEED + n);
+		values = new Integer[n];
+		for (int i = 0; i < n; i++) {
+			values[i] = rand.nextInt();
+		}
+		positions = new int[POSITIONS];
+		for (int i = 0; i < POSITIONS; i++) {
+			positions[i] = rand.nextInt(n);
+		}
+
+		list = ListEngine.Loader.load(kind);
+		for (Integer value : values) {
+			list.enqueue(value);
+		}
+	}
+
+	private int nextPosition() {
+		next = (next + 1) & (POSITIONS - 1);
+		return positions[next];
+	}
+
+	/**
+	 * Enqueues n elements into a new list.
+	 */
+	@Benchmark
+	public ListEngine build() throws ReflectiveOperationException {
+		ListEngine built = ListEngine.Loader.load(kind);
+		for (Integer value : values) {
+			built.enqueue(value);
+		}
+		return built;
+	}
+
+	/**
+	 * Visits every element, as toString() does.
+	 */
+	@Benchmark
+	public String scan() {
+		return list.toString();
+	}
+
+	@Benchmark
+	public Integer getRandom() {
+		return list.get(nextPosition());
+	}
+
+	/**
+	 * Inserts an element at a random position and deletes it again, so the size stays at n.
+	 */
+	@Benchmark
+	public boolean insertDeleteRandom() {
+		int pos = nextPosition();
+		list.insertBefore(pos, values[pos]);
+		return list.deleteAt(pos);
+	}
+
+	/**
+	 * Enqueues an element and dequeues another, so the size stays at n.
+	 */
+	@Benchmark
+	public Integer enqueueDequeue() {
+		list.enqueue(values[nextPosition()]);
+		return list.dequeue();
+	}
+}
@@ -0,0 +1,35 @@
+package edu.osullj19.bench;
+
+/**
+ * A list of Integers with the API of DoublyLinkedList (and the lists in assignment2 which share
+ * it), so that the benchmarks can compare their layouts. The stack and queue methods are
+ * inherited from DequeEngine.
+ * <p>
+ * As with CountingEngine, the lists are in the default package, so they are adapted to this
+ * interface by the default package class ListAdapter, which is loaded by name.
+ *
+ * @author Jack O'Sullivan
+ * @version 16/10/18 16:05:12
+ */
+public interface ListEngine extends DequeEngine {
+	int size();
+
+	void insertBefore(int pos, Integer data);
+
+	Integer get(int pos);
+
+	boolean deleteAt(int pos);
+
+	class Loader {
+		private Loader() {
+		}
+
+		/**
+		 * @param kind: The name of a ListAdapter.Kind.
+		 * @return a new, empty list of that kind.
+		 */
+		public static ListEngine load(String kind) throws ReflectiveOperationException {
+			return (ListEngine)Class.forName("ListAdapter").getMethod("create", String.class).invoke(null, kind);
+		}
+	}
+}
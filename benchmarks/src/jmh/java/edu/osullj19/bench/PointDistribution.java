@@ -0,0 +1,70 @@
+package edu.osullj19.bench;
+
+import java.util.Random;
+
+/**
+ * Ways of generating the input for the Collinear benchmarks.
+ *
+ * @author Jack O'Sullivan
+ * @version 03/10/18 15:27:09
+ */
+public enum PointDistribution {
+	/**
+	 * Uniformly random x coordinates in [-n, n], so there are few duplicates and around
+	 * n^2/4 collinear triples.
+	 */
+	UNIFORM {
+		@Override
+		void fill(int[][] a, Random rand) {
+			int n = a[0].length;
+			for (int[] line : a) {
+				for (int i = 0; i < n; i++) {
+					line[i] = rand.nextInt(2 * n + 1) - n;
+				}
+			}
+		}
+	},
+	/**
+	 * The generator used by CollinearTest.perf(), where each point is on a random line through
+	 * (constant, 0), truncated to an int. Almost all values are small, so there are many duplicates.
+	 */
+	DUPLICATE_HEAVY {
+		@Override
+		void fill(int[][] a, Random rand) {
+			for (int i = 0; i < a[0].length; i++) {
+				double fn = rand.nextDouble() * 10;
+				int constant = rand.nextInt(10);
+
+				a[0][i] = (int)((1 - constant) / fn);
+				a[1][i] = (int)((2 - constant) / fn);
+				a[2][i] = (int)((3 - constant) / fn);
+			}
+		}
+	},
+	/**
+	 * Uniformly random x coordinates on a grid of 1024 values, independent of n.
+	 */
+	GRID {
+		@Override
+		void fill(int[][] a, Random rand) {
+			for (int[] line : a) {
+				for (int i = 0; i < line.length; i++) {
+					line[i] = rand.nextInt(1024) * 16;
+				}
+			}
+		}
+	};
+
+	abstract void fill(int[][] a, Random rand);
+
+	/**
+	 * Generates the points on each line. The same n and seed always give the same points.
+	 *
+	 * @return the arrays a1, a2, a3, each of length n.
+	 */
+	public int[][] generate(int n, long seed) {
+		int[][] a = new int[3][n];
+		fill(a, new Random(seed));
+		return a;
+	}
+}
@@ -0,0 +1,173 @@
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+/**
+ * This class runs doubling experiments: it times an algorithm for geometrically growing input
+ * sizes and estimates the exponent b of its running time T(N) ~ a N^b with a least-squares fit of
+ * log T against log N. An experiment is flagged if the fitted exponent is larger than the
+ * documented one by more than a tolerance (which also absorbs log factors).
+ *
+ * @author Jack O'Sullivan
+ * @version 05/10/18 11:02:45
+ */
+class DoublingRunner {
+	/**
+	 * How much the fitted exponent may exceed the documented one, unless an experiment overrides
+	 * it. log N over a few doublings adds at most ~0.2 to the fitted exponent.
+	 */
+	static final double TOLERANCE = 0.3;
+	/**
+	 * Measurements shorter than this are dominated by timer resolution and noise, so they are
+	 * not used in the fit.
+	 */
+	static final double MIN_FIT_SECONDS = 0.005;
+	// Minimum time to spend warming up each experiment
+	private static final long WARMUP_NANOS = 200000000L;
+
+	private final long seed;
+	private final double budgetSeconds;
+	private final int maxDoublings;
+	private final int repetitions;
+
+	/**
+	 * @param seed: The seed for generating the inputs.
+	 * @param budgetSeconds: The input size stops doubling once a single run takes this long.
+	 * @param maxDoublings: The maximum number of times the input size is doubled.
+	 * @param repetitions: The number of times to run each size; the fastest run is used.
+	 */
+	DoublingRunner(long seed, double budgetSeconds, int maxDoublings, int repetitions) {
+		this.seed = seed;
+		this.budgetSeconds = budgetSeconds;
+		this.maxDoublings = maxDoublings;
+		this.repetitions = repetitions;
+	}
+
+	/**
+	 * The measurements and fitted exponent for one experiment.
+	 */
+	static class Result {
+		final ScalingExperiment<?> experiment;
+		final List<Integer> sizes = new ArrayList<>();
+		final List<Double> seconds = new ArrayList<>();
+		double fittedExponent = Double.NaN;
+
+		Result(ScalingExperiment<?> experiment) {
+			this.experiment = experiment;
+		}
+
+		/**
+		 * @return true if the fitted exponent exceeds the documented one by more than the
+		 * experiment's tolerance.
+		 */
+		boolean isRegression() {
+			return fittedExponent > experiment.exponent() + experiment.tolerance();
+		}
+	}
+
+	<I> Result run(ScalingExperiment<I> experiment) {
+		Result result = new Result(experiment);
+
+		// Warm up the JIT on the smallest size so that it doesn't distort the first measurements;
+		// the optimising compiler only kicks in after a few thousand iterations of a loop
+		Random warmup = new Random(seed);
+		long warmupEnd = System.nanoTime() + WARMUP_NANOS;
+		for (int i = 0; i < 3 || System.nanoTime() < warmupEnd; i++) {
+			sink ^= experiment.run(experiment.generate(experiment.startN(), warmup)).hashCode();
+		}
+
+		int n = experiment.startN();
+		for (int doubling = 0; doubling <= maxDoublings; doubling++, n *= 2) {
+			double best = Double.POSITIVE_INFINITY;
+			for (int r = 0; r < repetitions; r++) {
+				// Each size and repetition gets its own deterministic input
+				I input = experiment.generate(n, new Random(seed + 31L * n + r));
+				// Collect the garbage from previous runs now, rather than during this one
+				System.gc();
+				long start = System.nanoTime();
+				sink ^= experiment.run(input).hashCode();
+				best = Math.min(best, (System.nanoTime() - start) / 1e9);
+			}
+
+			result.sizes.add(n);
+			result.seconds.add(best);
+			if (best > budgetSeconds) {
+				break;
+			}
+		}
+
+		result.fittedExponent = fitExponent(result.sizes, result.seconds);
+		return result;
+	}
+
+	// Results of the experiments are combined into this so that the JIT can't eliminate them
+	private static int sink;
+
+	/**
+	 * Fits log(seconds) = b log(n) + a by least squares, using only the measurements which are long
+	 * enough to be meaningful.
+	 *
+	 * @return b, or NaN if fewer than 2 measurements are usable.
+	 */
+	static double fitExponent(List<Integer> sizes, List<Double> seconds) {
+		double sumX = 0, sumY = 0, sumXX = 0, sumXY = 0;
+		int count = 0;
+		for (int i = 0; i < sizes.size(); i++) {
+			if (seconds.get(i) < MIN_FIT_SECONDS) {
+				continue;
+			}
+			double x = Math.log(sizes.get(i));
+			double y = Math.log(seconds.get(i));
+			sumX += x;
+			sumY += y;
+			sumXX += x * x;
+			sumXY += x * y;
+			count++;
+		}
+
+		if (count < 2) {
+			return Double.NaN;
+		}
+		return (count * sumXY - sumX * sumY) / (count * sumXX - sumX * sumX);
+	}
+
+	/**
+	 * Runs the registered experiments and writes scaling.csv and scaling.md.
+	 * <p>
+	 * Arguments (all optional): the output directory (default "build/reports/scaling"), a regular
+	 * expression selecting experiments by name, and the time budget per size in seconds (default 1).
+	 * The exit status is 1 if any experiment was flagged.
+	 */
+	public static void main(String[] args) throws IOException {
+		File out = new File(args.length > 0 ? args[0] : "build/reports/scaling");
+		Pattern filter = Pattern.compile(args.length > 1 ? args[1] : ".*");
+		double budget = args.length > 2 ? Double.parseDouble(args[2]) : 1;
+
+		DoublingRunner runner = new DoublingRunner(0x2010L, budget, 12, 3);
+		List<Result> results = new ArrayList<>();
+		for (ScalingExperiment<?> experiment : ScalingExperiments.all()) {
+			if (!filter.matcher(experiment.name()).find()) {
+				continue;
+			}
+			Result result = runner.run(experiment);
+			System.out.printf("%-45s documented %-12s fitted %5.2f%s%n", experiment.name(), experiment.order(),
+					result.fittedExponent, result.isRegression() ? "  REGRESSION" : "");
+			results.add(result);
+		}
+
+		if (!out.isDirectory() && !out.mkdirs()) {
+			throw new IOException("Couldn't create " + out);
+		}
+		ScalingReport.writeCsv(results, new File(out, "scaling.csv"));
+		ScalingReport.writeMarkdown(results, new File(out, "scaling.md"));
+
+		for (Result result : results) {
+			if (result.isRegression()) {
+				System.exit(1);
+			}
+		}
+	}
+}
@@ -0,0 +1,70 @@
+import java.util.Random;
+
+/**
+ * An algorithm whose running time can be measured for inputs of increasing size by DoublingRunner,
+ * together with the order of growth documented for it.
+ *
+ * @param <I> The type of the input to the algorithm.
+ *
+ * @author Jack O'Sullivan
+ * @version 05/10/18 11:02:45
+ */
+abstract class ScalingExperiment<I> {
+	private final String name;
+	private final String order;
+	private final double exponent;
+	private final int startN;
+
+	/**
+	 * @param name: The name of the experiment, e.g. "Collinear.countCollinear".
+	 * @param order: The documented order of growth, e.g. "N^2 log N".
+	 * @param exponent: The exponent of the documented order of growth (ignoring log factors), e.g. 2.
+	 * @param startN: The smallest input size to measure.
+	 */
+	ScalingExperiment(String name, String order, double exponent, int startN) {
+		this.name = name;
+		this.order = order;
+		this.exponent = exponent;
+		this.startN = startN;
+	}
+
+	String name() {
+		return name;
+	}
+
+	String order() {
+		return order;
+	}
+
+	double exponent() {
+		return exponent;
+	}
+
+	int startN() {
+		return startN;
+	}
+
+	/**
+	 * @return how much the fitted exponent may exceed the documented one before it is flagged.
+	 */
+	double tolerance() {
+		return DoublingRunner.TOLERANCE;
+	}
+
+	/**
+	 * Generates an input of size n. This is not included in the measured time.
+	 *
+	 * @param n: The size of the input.
+	 * @param rand: The source of randomness, seeded by the runner so that results are reproducible.
+	 * @return the input.
+	 */
+	abstract I generate(int n, Random rand);
+
+	/**
+	 * Runs the algorithm on an input. This is the part that is measured.
+	 *
+	 * @param input: An input returned by generate(). It may be modified.
+	 * @return any result of the algorithm, which is kept so that the work can't be optimised away.
+	 */
+	abstract Object run(I input);
+}
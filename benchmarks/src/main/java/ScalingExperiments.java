@@ -0,0 +1,334 @@
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * The experiments run by DoublingRunner: one for each algorithm in the repository whose order of
+ * growth is documented, with the documented order copied from its Javadoc.
+ *
+ * @author Jack O'Sullivan
+ * @version 05/10/18 11:02:45
+ */
+class ScalingExperiments {
+	private ScalingExperiments() {
+	}
+
+	static List<ScalingExperiment<?>> all() {
+		List<ScalingExperiment<?>> experiments = new ArrayList<>();
+		addCollinear(experiments);
+		addSortComparison(experiments);
+		addBst(experiments);
+		addDoublyLinkedList(experiments);
+		addCompetition(experiments);
+		return experiments;
+	}
+
+	/**
+	 * Three arrays of n points each, with x in [-n, n] so that there is a steady number of collinear
+	 * triples as n grows.
+	 */
+	private static abstract class CollinearExperiment extends ScalingExperiment<int[][]> {
+		CollinearExperiment(String name, String order, double exponent, int startN) {
+			super("Collinear." + name, order, exponent, startN);
+		}
+
+		@Override
+		int[][] generate(int n, Random rand) {
+			int[][] a = new int[3][n];
+			for (int[] line : a) {
+				for (int i = 0; i < n; i++) {
+					line[i] = rand.nextInt(2*n + 1) - n;
+				}
+			}
+			return a;
+		}
+	}
+
+	/**
+	 * Extra tolerance for experiments which follow pointers to random nodes. Every step becomes a
+	 * cache miss once the structure outgrows the caches, so the time per step keeps growing with N
+	 * although the number of steps doesn't. Longer warmup doesn't help, since the misses come from
+	 * the size of the structure rather than from the JIT, and neither do larger sizes, which just
+	 * outgrow the next cache level. Measured on a Xeon with a 2MB L2 and a 105MB L3 (two runs, N
+	 * from 2^12 to 2^19), the fitted exponents were 1.60 and 1.62 for BST.put+get and 1.45 and 1.47
+	 * for IndexedDoublyLinkedList.get, i.e. ~0.6 above the documented ones, and from 2^16 upwards
+	 * each doubling still added 1.36 to 1.80 to log2 T. 0.8 leaves a margin for noise above that.
+	 */
+	private static final double POINTER_CHASING_TOLERANCE = 0.8;
+
+	private static void addCollinear(List<ScalingExperiment<?>> experiments) {
+		experiments.add(new CollinearExperiment("countCollinear", "N^3", 3, 100) {
+			@Override
+			Object run(int[][] a) {
+				return Collinear.countCollinear(a[0], a[1], a[2]);
+			}
+		});
+		experiments.add(new CollinearExperiment("countCollinearFast", "N^2 log N", 2, 250) {
+			@Override
+			Object run(int[][] a) {
+				return Collinear.countCollinearFast(a[0], a[1], a[2]);
+			}
+		});
+		experiments.add(new CollinearExperiment("countCollinearHash", "N^2", 2, 250) {
+			@Override
+			Object run(int[][] a) {
+				return Collinear.countCollinearHash(a[0], a[1], a[2]);
+			}
+		});
+		experiments.add(new CollinearExperiment("countCollinearSweep", "N^2", 2, 250) {
+			@Override
+			Object run(int[][] a) {
+				return Collinear.countCollinearSweep(a[0], a[1], a[2]);
+			}
+		});
+		experiments.add(new CollinearExperiment("sort", "N^2", 2, 1000) {
+			@Override
+			Object run(int[][] a) {
+				Collinear.sort(a[0]);
+				return a[0][0];
+			}
+		});
+		experiments.add(new CollinearExperiment("radixSort", "N", 1, 1 << 14) {
+			@Override
+			Object run(int[][] a) {
+				Collinear.radixSort(a[0]);
+				return a[0][0];
+			}
+		});
+	}
+
+	private static abstract class SortExperiment extends ScalingExperiment<double[]> {
+		SortExperiment(String name, String order, double exponent, int startN) {
+			super("SortComparison." + name, order, exponent, startN);
+		}
+
+		@Override
+		double[] generate(int n, Random rand) {
+			double[] a = new double[n];
+			for (int i = 0; i < n; i++) {
+				a[i] = rand.nextDouble();
+			}
+			return a;
+		}
+	}
+
+	private static void addSortComparison(List<ScalingExperiment<?>> experiments) {
+		experiments.add(new SortExperiment("insertionSort", "N^2", 2, 1000) {
+			@Override
+			Object run(double[] a) {
+				return SortComparison.insertionSort(a)[0];
+			}
+		});
+		experiments.add(new SortExperiment("selectionSort", "N^2", 2, 1000) {
+			@Override
+			Object run(double[] a) {
+				return SortComparison.selectionSort(a)[0];
+			}
+		});
+		experiments.add(new SortExperiment("quickSort", "N log N", 1, 1 << 14) {
+			@Override
+			Object run(double[] a) {
+				return SortComparison.quickSort(a)[0];
+			}
+		});
+		experiments.add(new SortExperiment("mergeSortIterative", "N log N", 1, 1 << 14) {
+			@Override
+			Object run(double[] a) {
+				return SortComparison.mergeSortIterative(a)[0];
+			}
+		});
+		experiments.add(new SortExperiment("mergeSortRecursive", "N log N", 1, 1 << 14) {
+			@Override
+			Object run(double[] a) {
+				return SortComparison.mergeSortRecursive(a)[0];
+			}
+		});
+	}
+
+	private static void addBst(List<ScalingExperiment<?>> experiments) {
+		// N random puts followed by N gets, each of which takes log N on average
+		experiments.add(new ScalingExperiment<int[]>("BST.put+get", "N log N", 1, 1 << 12) {
+			@Override
+			double tolerance() {
+				return POINTER_CHASING_TOLERANCE;
+			}
+
+			@Override
+			int[] generate(int n, Random rand) {
+				int[] keys = new int[n];
+				for (int i = 0; i < n; i++) {
+					keys[i] = rand.nextInt();
+				}
+				return keys;
+			}
+
+			@Override
+			Object run(int[] keys) {
+				BST<Integer, Integer> bst = new BST<>();
+				for (int key : keys) {
+					bst.put(key, key);
+				}
+				long sum = 0;
+				for (int key : keys) {
+					sum += bst.get(key);
+				}
+				return sum;
+			}
+		});
+	}
+
+	/**
+	 * The input is the data to put in the list.
+	 */
+	private static abstract class ListExperiment extends ScalingExperiment<Integer[]> {
+		private final int range;
+
+		/**
+		 * @param range: The data is drawn from [0, range), or [0, n) if range is 0.
+		 */
+		ListExperiment(String name, String order, double exponent, int startN, int range) {
+			super("DoublyLinkedList." + name, order, exponent, startN);
+			this.range = range;
+		}
+
+		@Override
+		Integer[] generate(int n, Random rand) {
+			Integer[] data = new Integer[n];
+			for (int i = 0; i < n; i++) {
+				data[i] = rand.nextInt(range == 0 ? n : range);
+			}
+			return data;
+		}
+
+		static DoublyLinkedList<Integer> listOf(Integer[] data) {
+			DoublyLinkedList<Integer> list = new DoublyLinkedList<>();
+			for (Integer x : data) {
+				list.enqueue(x);
+			}
+			return list;
+		}
+	}
+
+	private static void addDoublyLinkedList(List<ScalingExperiment<?>> experiments) {
+		// N operations on the ends, each of which takes constant time
+		experiments.add(new ListExperiment("enqueue+dequeue", "N", 1, 1 << 14, 0) {
+			@Override
+			Object run(Integer[] data) {
+				DoublyLinkedList<Integer> list = listOf(data);
+				long sum = 0;
+				while (!list.isEmpty()) {
+					sum += list.dequeue();
+				}
+				return sum;
+			}
+		});
+		// N calls to get(), each of which takes linear time
+		experiments.add(new ListExperiment("get", "N^2", 2, 1000, 0) {
+			@Override
+			Object run(Integer[] data) {
+				DoublyLinkedList<Integer> list = listOf(data);
+				long sum = 0;
+				for (int i = 0; i < data.length; i++) {
+					sum += list.get(data[i]);
+				}
+				return sum;
+			}
+		});
+		// N calls to get() on the skip list, each of which takes log N
+		experiments.add(new ListExperiment("get (IndexedDoublyLinkedList)", "N log N", 1, 1 << 12, 0) {
+			@Override
+			double tolerance() {
+				return POINTER_CHASING_TOLERANCE;
+			}
+
+			@Override
+			Object run(Integer[] data) {
+				IndexedDoublyLinkedList<Integer> list = new IndexedDoublyLinkedList<>();
+				for (Integer x : data) {
+					list.enqueue(x);
+				}
+				long sum = 0;
+				for (int i = 0; i < data.length; i++) {
+					sum += list.get(data[i]);
+				}
+				return sum;
+			}
+		});
+		// Data with many duplicates, so that plenty of nodes are deleted
+		experiments.add(new ListExperiment("makeUnique", "N", 1, 1 << 14, 1 << 10) {
+			@Override
+			Object run(Integer[] data) {
+				DoublyLinkedList<Integer> list = listOf(data);
+				list.makeUnique();
+				return list.size();
+			}
+		});
+		experiments.add(new ListExperiment("makeUniqueSorted", "N log N", 1, 1 << 14, 1 << 10) {
+			@Override
+			Object run(Integer[] data) {
+				DoublyLinkedList<Integer> list = listOf(data);
+				list.makeUniqueSorted();
+				return list.size();
+			}
+		});
+	}
+
+	/**
+	 * The input is a random city with V intersections and 4V streets, written to a temporary file
+	 * in the format that Competition reads.
+	 */
+	private static abstract class CompetitionExperiment extends ScalingExperiment<Competition> {
+		CompetitionExperiment(String name, String order, double exponent, int startN) {
+			super(name + ".findDistances", order, exponent, startN);
+		}
+
+		abstract Competition create(String filename);
+
+		@Override
+		Competition generate(int v, Random rand) {
+			try {
+				File file = File.createTempFile("city", ".txt");
+				try {
+					try (PrintWriter w = new PrintWriter(file, "UTF-8")) {
+						w.println(v);
+						w.println(4 * v);
+						for (int e = 0; e < 4 * v; e++) {
+							w.printf(Locale.ROOT, "%d %d %.2f%n", rand.nextInt(v), rand.nextInt(v), rand.nextDouble() + 0.01);
+						}
+					}
+					return create(file.getPath());
+				} finally {
+					file.delete();
+				}
+			} catch (IOException ex) {
+				throw new RuntimeException(ex);
+			}
+		}
+
+		@Override
+		Object run(Competition competition) {
+			return Arrays.deepHashCode(competition.findDistances());
+		}
+	}
+
+	private static void addCompetition(List<ScalingExperiment<?>> experiments) {
+		// Dijkstra from every vertex: V (V + E) log V with E = 4V
+		experiments.add(new CompetitionExperiment("CompetitionDijkstra", "V^2 log V", 2, 100) {
+			@Override
+			Competition create(String filename) {
+				return new CompetitionDijkstra(filename, 50, 75, 100);
+			}
+		});
+		experiments.add(new CompetitionExperiment("CompetitionFloydWarshall", "V^3", 3, 100) {
+			@Override
+			Competition create(String filename) {
+				return new CompetitionFloydWarshall(filename, 50, 75, 100);
+			}
+		});
+	}
+}
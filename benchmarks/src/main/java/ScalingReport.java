@@ -0,0 +1,68 @@
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Writes the results of DoublingRunner as CSV (one row per measurement) and as a Markdown report
+ * (one table per experiment, with the ratio of each running time to the previous one).
+ *
+ * @author Jack O'Sullivan
+ * @version 05/10/18 11:02:45
+ */
+class ScalingReport {
+	private ScalingReport() {
+	}
+
+	static void writeCsv(List<DoublingRunner.Result> results, File file) throws IOException {
+		try (PrintWriter w = new PrintWriter(file, "UTF-8")) {
+			w.println("experiment,n,seconds");
+			for (DoublingRunner.Result result : results) {
+				for (int i = 0; i < result.sizes.size(); i++) {
+					w.printf(Locale.ROOT, "%s,%d,%.9f%n", result.experiment.name(), result.sizes.get(i), result.seconds.get(i));
+				}
+			}
+		}
+	}
+
+	static void writeMarkdown(List<DoublingRunner.Result> results, File file) throws IOException {
+		try (PrintWriter w = new PrintWriter(file, "UTF-8")) {
+			w.println("# Scaling report");
+			w.println();
+			w.printf(Locale.ROOT, "Exponents are fitted over measurements of at least %.0f ms. An experiment is "
+					+ "flagged if its fitted exponent exceeds the documented one by more than the tolerance.%n",
+					DoublingRunner.MIN_FIT_SECONDS * 1000);
+			w.println();
+			w.println("| Experiment | Documented | Fitted exponent | Tolerance | Status |");
+			w.println("|---|---|---|---|---|");
+			for (DoublingRunner.Result result : results) {
+				w.printf(Locale.ROOT, "| %s | %s | %.2f | %.1f | %s |%n", result.experiment.name(), result.experiment.order(),
+						result.fittedExponent, result.experiment.tolerance(), status(result));
+			}
+
+			for (DoublingRunner.Result result : results) {
+				w.println();
+				w.printf("## %s%n%n", result.experiment.name());
+				w.println("| N | Time (s) | Ratio | log2 ratio |");
+				w.println("|---|---|---|---|");
+				for (int i = 0; i < result.sizes.size(); i++) {
+					double t = result.seconds.get(i);
+					if (i == 0) {
+						w.printf(Locale.ROOT, "| %d | %.6f | | |%n", result.sizes.get(i), t);
+					} else {
+						double ratio = t / result.seconds.get(i - 1);
+						w.printf(Locale.ROOT, "| %d | %.6f | %.2f | %.2f |%n", result.sizes.get(i), t, ratio, Math.log(ratio) / Math.log(2));
+					}
+				}
+			}
+		}
+	}
+
+	private static String status(DoublingRunner.Result result) {
+		if (Double.isNaN(result.fittedExponent)) {
+			return "too fast to fit";
+		}
+		return result.isRegression() ? "**REGRESSION**" : "ok";
+	}
+}
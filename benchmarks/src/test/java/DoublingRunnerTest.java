@@ -0,0 +1,115 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Test class for DoublingRunner.java
+ *
+ * @author Jack O'Sullivan
+ * @version 18/10/18 10:12:37
+ */
+@RunWith(JUnit4.class)
+public class DoublingRunnerTest {
+	// The sizes of the synthetic timing series: 1000, 2000, ..., 128000
+	private static final int START_N = 1000;
+	private static final int DOUBLINGS = 7;
+
+	/**
+	 * An experiment which is never run, for building results by hand.
+	 */
+	static ScalingExperiment<Void> experiment(String name, String order, double exponent) {
+		return new ScalingExperiment<Void>(name, order, exponent, START_N) {
+			@Override
+			Void generate(int n, Random rand) {
+				return null;
+			}
+
+			@Override
+			Object run(Void input) {
+				return 0;
+			}
+		};
+	}
+
+	static List<Integer> sizes() {
+		List<Integer> sizes = new ArrayList<>();
+		for (int i = 0, n = START_N; i <= DOUBLINGS; i++, n *= 2) {
+			sizes.add(n);
+		}
+		return sizes;
+	}
+
+	/**
+	 * @return c n^b (log2 n)^l for each of the sizes.
+	 */
+	static List<Double> series(List<Integer> sizes, double c, double b, double l) {
+		List<Double> seconds = new ArrayList<>();
+		for (int n : sizes) {
+			seconds.add(c * Math.pow(n, b) * Math.pow(Math.log(n) / Math.log(2), l));
+		}
+		return seconds;
+	}
+
+	@Test
+	public void testFitLinear() {
+		List<Integer> sizes = sizes();
+		assertEquals(1.0, DoublingRunner.fitExponent(sizes, series(sizes, 1e-5, 1, 0)), 1e-9);
+	}
+
+	@Test
+	public void testFitQuadratic() {
+		List<Integer> sizes = sizes();
+		assertEquals(2.0, DoublingRunner.fitExponent(sizes, series(sizes, 1e-8, 2, 0)), 1e-9);
+	}
+
+	@Test
+	public void testFitLinearithmic() {
+		// The log factor adds 1 / ln n to the local slope, which is about 0.1 over these sizes
+		List<Integer> sizes = sizes();
+		double b = DoublingRunner.fitExponent(sizes, series(sizes, 1e-6, 1, 1));
+		assertTrue("fitted " + b, b > 1.05 && b < 1.15);
+		assertTrue("log factor within tolerance", b < 1 + DoublingRunner.TOLERANCE);
+	}
+
+	@Test
+	public void testFitIgnoresShortMeasurements() {
+		List<Integer> sizes = sizes();
+		List<Double> seconds = series(sizes, 1e-8, 2, 0);
+		// Timer noise in the measurements below MIN_FIT_SECONDS mustn't affect the fit
+		seconds.set(0, DoublingRunner.MIN_FIT_SECONDS / 2);
+		seconds.set(1, DoublingRunner.MIN_FIT_SECONDS / 100);
+		assertEquals(2.0, DoublingRunner.fitExponent(sizes, seconds), 1e-9);
+
+		// With fewer than 2 usable measurements there's nothing to fit
+		List<Double> tooFast = series(sizes, 1e-12, 1, 0);
+		tooFast.set(DOUBLINGS, 1.0);
+		assertTrue(Double.isNaN(DoublingRunner.fitExponent(sizes, tooFast)));
+		assertTrue(Double.isNaN(DoublingRunner.fitExponent(new ArrayList<Integer>(), new ArrayList<Double>())));
+	}
+
+	@Test
+	public void testIsRegression() {
+		List<Integer> sizes = sizes();
+		DoublingRunner.Result linear = new DoublingRunner.Result(experiment("linear", "N", 1));
+		linear.fittedExponent = DoublingRunner.fitExponent(sizes, series(sizes, 1e-6, 1, 1));
+		assertFalse("N log N passes as N", linear.isRegression());
+
+		linear.fittedExponent = DoublingRunner.fitExponent(sizes, series(sizes, 1e-8, 2, 0));
+		assertTrue("N^2 is flagged as N", linear.isRegression());
+
+		linear.fittedExponent = Double.NaN;
+		assertFalse("too fast to fit", linear.isRegression());
+
+		DoublingRunner.Result quadratic = new DoublingRunner.Result(experiment("quadratic", "N^2", 2));
+		quadratic.fittedExponent = DoublingRunner.fitExponent(sizes, series(sizes, 1e-8, 2, 0));
+		assertFalse(quadratic.isRegression());
+	}
+}
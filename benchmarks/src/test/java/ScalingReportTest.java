@@ -0,0 +1,81 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Test class for ScalingReport.java
+ *
+ * @author Jack O'Sullivan
+ * @version 18/10/18 10:12:37
+ */
+@RunWith(JUnit4.class)
+public class ScalingReportTest {
+	private static DoublingRunner.Result result(String name, String order, double exponent, double b) {
+		DoublingRunner.Result result = new DoublingRunner.Result(DoublingRunnerTest.experiment(name, order, exponent));
+		result.sizes.addAll(Arrays.asList(1000, 2000, 4000));
+		result.seconds.addAll(DoublingRunnerTest.series(result.sizes, 1e-5, b, 0));
+		result.fittedExponent = DoublingRunner.fitExponent(result.sizes, result.seconds);
+		return result;
+	}
+
+	private static List<DoublingRunner.Result> results() {
+		List<DoublingRunner.Result> results = new ArrayList<>();
+		results.add(result("Linear", "N", 1, 1));
+		results.add(result("Quadratic", "N", 1, 2));
+		DoublingRunner.Result tooFast = new DoublingRunner.Result(DoublingRunnerTest.experiment("TooFast", "N", 1));
+		results.add(tooFast);
+		return results;
+	}
+
+	private static List<String> write(boolean markdown) throws IOException {
+		File file = File.createTempFile("scaling", markdown ? ".md" : ".csv");
+		try {
+			if (markdown) {
+				ScalingReport.writeMarkdown(results(), file);
+			} else {
+				ScalingReport.writeCsv(results(), file);
+			}
+			return Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+		} finally {
+			file.delete();
+		}
+	}
+
+	@Test
+	public void testCsv() throws IOException {
+		assertEquals(Arrays.asList(
+				"experiment,n,seconds",
+				"Linear,1000,0.010000000",
+				"Linear,2000,0.020000000",
+				"Linear,4000,0.040000000",
+				"Quadratic,1000,10.000000000",
+				"Quadratic,2000,40.000000000",
+				"Quadratic,4000,160.000000000"), write(false));
+	}
+
+	@Test
+	public void testMarkdown() throws IOException {
+		List<String> lines = write(true);
+		assertTrue(lines.contains("| Linear | N | 1.00 | 0.3 | ok |"));
+		assertTrue(lines.contains("| Quadratic | N | 2.00 | 0.3 | **REGRESSION** |"));
+		assertTrue(lines.contains("| TooFast | N | NaN | 0.3 | too fast to fit |"));
+
+		// Doubling N doubles a linear running time and quadruples a quadratic one
+		assertTrue(lines.contains("## Linear"));
+		assertTrue(lines.contains("| 1000 | 0.010000 | | |"));
+		assertTrue(lines.contains("| 2000 | 0.020000 | 2.00 | 1.00 |"));
+		assertTrue(lines.contains("| 4000 | 160.000000 | 4.00 | 2.00 |"));
+		assertTrue(lines.contains("## TooFast"));
+	}
+}
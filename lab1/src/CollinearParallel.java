@@ -1,18 +1,13 @@
-import org.knowm.xchart.BitmapEncoder;
-import org.knowm.xchart.XYChart;
-import org.knowm.xchart.XYChartBuilder;
-
 import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
 import java.util.Random;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.IntStream;
 import java.util.stream.LongStream;
 
-// If XChart library is installed
-
 /**
  * This class contains only two static methods that search for points on the
  * same line in three arrays of integers.
@@ -170,13 +165,31 @@ class CollinearParallel {
 	}
 
 	private static long measure(Callable fn) throws Exception {
-		long start = System.currentTimeMillis();
+		long start = System.nanoTime();
 		fn.call();
-		return System.currentTimeMillis() - start;
+		return System.nanoTime() - start;
+	}
+
+	/**
+	 * Fits log(t) = b log(n) + a by least squares.
+	 *
+	 * @return b, the empirical order of growth.
+	 */
+	private static double fitExponent(int[] sizes, double[] times) {
+		double sumX = 0, sumY = 0, sumXX = 0, sumXY = 0;
+		for (int j = 0; j < sizes.length; j++) {
+			double x = Math.log(sizes[j]);
+			double y = Math.log(times[j]);
+			sumX += x;
+			sumY += y;
+			sumXX += x * x;
+			sumXY += x * y;
+		}
+		int n = sizes.length;
+		return (n * sumXY - sumX * sumY) / (n * sumXX - sumX * sumX);
 	}
-	public static void perf(int[] sizes, int nRuns, int nThreads) throws InterruptedException, IOException {
-		Random rand = new Random();
 
+	public static void perf(int[] sizes, int nRuns, int nThreads) throws InterruptedException, IOException {
 		final int threads = (nThreads == -1 ? Runtime.getRuntime().availableProcessors() : nThreads);
 		final int runs = (nRuns == -1 ? threads : nRuns);
 		double[] bfTimes = new double[sizes.length];
@@ -186,28 +199,28 @@ class CollinearParallel {
 		for (int j = 0; j < sizes.length; j++) {
 			ExecutorService executorService = Executors.newFixedThreadPool(threads);
 			int n = sizes[j];
-			int[][] a1 = new int[threads][n];
-			int[][] a2 = new int[threads][n];
-			int[][] a3 = new int[threads][n];
 			long[] bft = new long[runs];
 			long[] bst = new long[runs];
 
 			for (int r = 0; r < runs; r++) {
 				final int run = r;
 				executorService.submit(() -> {
-					int t = (int)Thread.currentThread().getId() % threads;
+					// Each run has its own arrays and its own seeded Random. Thread ids aren't
+					// 0..threads-1, so indexing shared arrays by id let two runs overwrite each other's input
+					Random rand = new Random(31L * n + run);
+					int[] a1 = new int[n], a2 = new int[n], a3 = new int[n];
 					for (int i = 0; i < n; i++) {
 						double fn = rand.nextDouble() * 10;
 						int constant = rand.nextInt(10);
 
-						a1[t][i] = (int)((1 - constant) / fn);
-						a2[t][i] = (int)((2 - constant) / fn);
-						a3[t][i] = (int)((3 - constant) / fn);
+						a1[i] = (int)((1 - constant) / fn);
+						a2[i] = (int)((2 - constant) / fn);
+						a3[i] = (int)((3 - constant) / fn);
 					}
 
 					try {
-						bft[run] = measure(() -> CollinearParallel.countCollinear(a1[t], a2[t], a3[t]));
-						bst[run] = measure(() -> CollinearParallel.countCollinearFast(a1[t], a2[t], a3[t]));
+						bft[run] = measure(() -> CollinearParallel.countCollinear(a1, a2, a3));
+						bst[run] = measure(() -> CollinearParallel.countCollinearFast(a1, a2, a3));
 					} catch (Exception ex) {
 						ex.printStackTrace();
 						System.exit(-1);
@@ -218,24 +231,38 @@ class CollinearParallel {
 			executorService.shutdown();
 			executorService.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
 
-			bfTimes[j] = LongStream.of(bft).average().getAsDouble() / 1000.0;
-			bsTimes[j] = LongStream.of(bst).average().getAsDouble() / 1000.0;
+			bfTimes[j] = LongStream.of(bft).average().getAsDouble() / 1e9;
+			bsTimes[j] = LongStream.of(bst).average().getAsDouble() / 1e9;
 		}
 
-		// Graph using XChart library
-		double[] dSizes = IntStream.of(sizes).asDoubleStream().toArray();
-		XYChart chart = new XYChartBuilder().width(1280).height(720).title("Collinear").xAxisTitle("n").yAxisTitle("t").build();
-		chart.getStyler().setXAxisLogarithmic(true).setYAxisLogarithmic(true);
-
-		chart.addSeries("Brute force", dSizes, bfTimes);
-		chart.addSeries("Binary search", dSizes, bsTimes);
-		BitmapEncoder.saveBitmap(chart, "results", BitmapEncoder.BitmapFormat.PNG);
+		// Same format as the scaling report of the benchmarks project (DoublingRunner)
+		try (PrintWriter w = new PrintWriter("results.csv", "UTF-8")) {
+			w.println("experiment,n,seconds");
+			for (int j = 0; j < sizes.length; j++) {
+				w.printf(Locale.ROOT, "CollinearParallel.countCollinear,%d,%.9f%n", sizes[j], bfTimes[j]);
+			}
+			for (int j = 0; j < sizes.length; j++) {
+				w.printf(Locale.ROOT, "CollinearParallel.countCollinearFast,%d,%.9f%n", sizes[j], bsTimes[j]);
+			}
+		}
+		try (PrintWriter w = new PrintWriter("results.md", "UTF-8")) {
+			w.println("| n | Brute force (s) | Binary search (s) |");
+			w.println("|---|---|---|");
+			for (int j = 0; j < sizes.length; j++) {
+				w.printf(Locale.ROOT, "| %d | %.6f | %.6f |%n", sizes[j], bfTimes[j], bsTimes[j]);
+			}
+			w.println();
+			w.printf(Locale.ROOT, "Fitted exponents: brute force %.2f (documented N^3), binary search %.2f (documented N^2 log N)%n",
+					fitExponent(sizes, bfTimes), fitExponent(sizes, bsTimes));
+		}
 
 		for (int j = 0; j < sizes.length; j++) {
 			System.out.printf("n = %d:\n", sizes[j]);
 			System.out.printf("Brute force   : %fs\n", bfTimes[j]);
 			System.out.printf("Binary search : %fs\n", bsTimes[j]);
 		}
+		System.out.printf("Fitted exponents : brute force %.2f, binary search %.2f\n",
+				fitExponent(sizes, bfTimes), fitExponent(sizes, bsTimes));
 		System.out.printf("Total run time : %fs\n", (System.currentTimeMillis() - start) / 1000.0);
 	}
 	public static void main(String[] args) throws IOException, InterruptedException {
@@ -0,0 +1,15 @@
+/**
+ * This interface is implemented by the brute force inner loops used by
+ * Collinear.countCollinearVector(), which may be provided by a class compiled
+ * separately for a newer JVM (see VectorBruteForceKernel).
+ *
+ * @author Jack O'Sullivan
+ * @version 27/09/18 19:33:48
+ */
+interface BruteForceKernel {
+	/**
+	 * Counts the triples (i, j, k) such that a1[i]*(2-3) + a2[j]*(3-1) + a3[k]*(1-2) == 0,
+	 * exactly as Collinear.countCollinear() does.
+	 */
+	long count(int[] a1, int[] a2, int[] a3);
+}
@@ -1,5 +1,7 @@
+import java.util.Random;
+
 /**
- * This class contains only two static methods that search for points on the
+ * This class contains static methods that search for points on the
  * same line in three arrays of integers.
  *
  * @author Jack O'Sullivan
@@ -77,11 +79,17 @@ class Collinear {
 	 * <p>
 	 * Order of Growth: N^2 log N
 	 * <p>
-	 * Explanation: Two linear for-loops with a binary search.
+	 * Explanation: Two linear for-loops with a binary search. Sorting a3 takes only N with
+	 * radixSort() (which falls back to InsertionSort for small arrays).
+	 * <p>
+	 * The binary search is done on an Eytzinger layout of the sorted a3 (see EytzingerArray), which
+	 * is much more cache-friendly for large arrays. It counts every element equal to the value
+	 * searched for, so duplicates in a3 are counted as in countCollinear().
 	 */
 	static int countCollinearFast(int[] a1, int[] a2, int[] a3) {
 		int count = 0;
-		sort(a3);
+		radixSort(a3);
+		EytzingerArray search = new EytzingerArray(a3);
 
 		// x1*(y2-y3) + x2*(y3-y1) + x3*(y1-y2) = 0: collinear
 		// x1*(y2-y3) + x2*(y3-y1) = -(x3*(y1-y2))
@@ -90,14 +98,716 @@ class Collinear {
 		for (int i = 0; i < a1.length; i++) {
 			for (int j = 0; j < a2.length; j++) {
 				int toFind = -(a1[i]*(2-3) + a2[j]*(3-1)) / (1-2);
-				if (binarySearch(a3, toFind)) {
-					count++;
+				count += search.count(toFind);
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Counts for the number of non-horizontal lines that go through 3 points in arrays a1, a2, a3.
+	 * This method is static, thus it can be called as Collinear.countCollinearVector(a1,a2,a3)
+	 *
+	 * @param a1: An UNSORTED array of integers. Each integer a1[i] represents the point (a1[i], 1) on the plain.
+	 * @param a2: An UNSORTED array of integers. Each integer a2[i] represents the point (a2[i], 2) on the plain.
+	 * @param a3: An UNSORTED array of integers. Each integer a3[i] represents the point (a3[i], 3) on the plain.
+	 * @return the number of points which are collinear and do not lie on a horizontal line.
+	 * <p>
+	 * This is the same BRUTE FORCE approach as countCollinear(), but if the JVM supports the Vector
+	 * API (Java 16+ with --add-modules jdk.incubator.vector) the innermost loop over a3 compares a
+	 * whole SIMD register of elements against 2*x2 - x1 at a time, see VectorBruteForceKernel.
+	 * Otherwise a scalar loop is used.
+	 * <p>
+	 * <p>
+	 * Order of Growth
+	 * -------------------------
+	 * <p>
+	 * Order of growth: N^3 / L, where L is the number of lanes in a vector register
+	 * <p>
+	 * Explanation: Three linear for-loops, the innermost of which handles L elements per iteration.
+	 */
+	static long countCollinearVector(int[] a1, int[] a2, int[] a3) {
+		return KernelHolder.KERNEL.count(a1, a2, a3);
+	}
+
+	/**
+	 * @return true if countCollinearVector() is using the Vector API.
+	 */
+	static boolean isVectorized() {
+		return !(KernelHolder.KERNEL instanceof ScalarBruteForceKernel);
+	}
+
+	/**
+	 * Loads the vectorized kernel the first time it is needed.
+	 */
+	private static class KernelHolder {
+		static final BruteForceKernel KERNEL = load();
+
+		private static BruteForceKernel load() {
+			try {
+				return (BruteForceKernel)Class.forName("VectorBruteForceKernel").getDeclaredConstructor().newInstance();
+			} catch (ReflectiveOperationException | LinkageError ex) {
+				// Either the class wasn't compiled (JDK < 16) or the incubator module isn't present
+				return new ScalarBruteForceKernel();
+			}
+		}
+	}
+
+	/**
+	 * The fallback for countCollinearVector(), identical to countCollinear().
+	 */
+	private static class ScalarBruteForceKernel implements BruteForceKernel {
+		@Override
+		public long count(int[] a1, int[] a2, int[] a3) {
+			long count = 0;
+			for (int x1 : a1) {
+				for (int x2 : a2) {
+					int x3 = 2*x2 - x1;
+					for (int k : a3) {
+						if (k == x3) {
+							count++;
+						}
+					}
+				}
+			}
+			return count;
+		}
+	}
+
+	/**
+	 * Counts for the number of non-horizontal lines that go through 3 points in arrays a1, a2, a3.
+	 * This method is static, thus it can be called as Collinear.countCollinearHash(a1,a2,a3)
+	 *
+	 * @param a1: An UNSORTED array of integers. Each integer a1[i] represents the point (a1[i], 1) on the plain.
+	 * @param a2: An UNSORTED array of integers. Each integer a2[i] represents the point (a2[i], 2) on the plain.
+	 * @param a3: An UNSORTED array of integers. Each integer a3[i] represents the point (a3[i], 3) on the plain.
+	 * @return the number of points which are collinear and do not lie on a horizontal line.
+	 * <p>
+	 * Unlike countCollinearFast(), none of the arrays are modified, and duplicate values in a3 are
+	 * counted once per occurrence (exactly as countCollinear() does). The result is a long since
+	 * the number of triples can exceed the range of an int when a3 has many duplicates.
+	 * <p>
+	 * <p>
+	 * Order of Growth
+	 * -------------------------
+	 * <p>
+	 * Order of Growth: N^2 (expected)
+	 * <p>
+	 * Explanation: The multiplicity of every value in a3 is recorded in a hash table in N. The two
+	 * linear for-loops then look up the required x3 for each pair in constant expected time.
+	 */
+	static long countCollinearHash(int[] a1, int[] a2, int[] a3) {
+		return CollinearIndex.hashed(a3).count(a1, a2);
+	}
+
+	/**
+	 * Counts for the number of non-horizontal lines that go through 3 points in arrays a1, a2, a3,
+	 * using multiple threads.
+	 * This method is static, thus it can be called as Collinear.countCollinearParallel(a1,a2,a3,p)
+	 *
+	 * @param a1: An UNSORTED array of integers. Each integer a1[i] represents the point (a1[i], 1) on the plain.
+	 * @param a2: An UNSORTED array of integers. Each integer a2[i] represents the point (a2[i], 2) on the plain.
+	 * @param a3: An UNSORTED array of integers. Each integer a3[i] represents the point (a3[i], 3) on the plain.
+	 * @param parallelism: The number of worker threads to use, or -1 to use all available processors.
+	 * @return the number of points which are collinear and do not lie on a horizontal line.
+	 * <p>
+	 * The hash table of a3 used by countCollinearHash() is built once and then shared (read-only)
+	 * between all threads, see CollinearIndex.countParallel().
+	 * <p>
+	 * <p>
+	 * Order of Growth
+	 * -------------------------
+	 * <p>
+	 * Order of Growth: N^2 / P (expected), where P is the parallelism
+	 * <p>
+	 * Explanation: The same work as countCollinearHash() is divided evenly between P threads.
+	 */
+	static long countCollinearParallel(int[] a1, int[] a2, int[] a3, int parallelism) {
+		return CollinearIndex.hashed(a3).countParallel(a1, a2, parallelism);
+	}
+
+	/**
+	 * Counts for the number of non-horizontal lines that go through 3 points in arrays a1, a2, a3.
+	 * This method is static, thus it can be called as Collinear.countCollinearSweep(a1,a2,a3)
+	 *
+	 * @param a1: An UNSORTED array of integers. Each integer a1[i] represents the point (a1[i], 1) on the plain.
+	 * @param a2: An UNSORTED array of integers. Each integer a2[i] represents the point (a2[i], 2) on the plain.
+	 * @param a3: An UNSORTED array of integers. Each integer a3[i] represents the point (a3[i], 3) on the plain.
+	 * @return the number of points which are collinear and do not lie on a horizontal line.
+	 * <p>
+	 * With y1=1, y2=2, y3=3 the collinearity condition reduces to x1 + x3 = 2*x2, so for each x2 we
+	 * are looking for the pairs in a1 and a3 which sum to 2*x2 (as in 3SUM). With a1 and a3 sorted,
+	 * these can be found by sweeping one pointer up a1 and another down a3. Runs of equal values in
+	 * both arrays match together, so the product of their lengths is counted at once.
+	 * <p>
+	 * The sums are computed with long arithmetic, so the result only differs from countCollinear()
+	 * when 2*x2 - x1 overflows an int (which countCollinear() lets wrap around). Sorted copies of a1
+	 * and a3 are made, so none of the arrays are modified.
+	 * <p>
+	 * <p>
+	 * Order of Growth
+	 * -------------------------
+	 * <p>
+	 * Order of Growth: N^2
+	 * <p>
+	 * Explanation: Sorting a1 and a3 takes N (see radixSort()), then for each of the N elements of a2 the two
+	 * pointers together move at most 2N steps. Only constant extra memory is needed besides the
+	 * sorted copies.
+	 */
+	static long countCollinearSweep(int[] a1, int[] a2, int[] a3) {
+		int[] s1 = a1.clone();
+		int[] s3 = a3.clone();
+		int[] scratch = new int[Math.max(s1.length, s3.length)];
+		radixSort(s1, scratch);
+		radixSort(s3, scratch);
+
+		long count = 0;
+		for (int x2 : a2) {
+			count += countSums(s1, s3, 2L*x2);
+		}
+		return count;
+	}
+
+	/**
+	 * Counts the pairs (i, k) such that s1[i] + s3[k] == sum, where s1 and s3 are sorted ascending.
+	 */
+	private static long countSums(int[] s1, int[] s3, long sum) {
+		long count = 0;
+		int i = 0;
+		int k = s3.length - 1;
+		while (i < s1.length && k >= 0) {
+			long current = (long)s1[i] + s3[k];
+			if (current < sum) {
+				i++;
+			} else if (current > sum) {
+				k--;
+			} else {
+				int x1 = s1[i];
+				int run1 = 0;
+				while (i < s1.length && s1[i] == x1) {
+					i++;
+					run1++;
+				}
+				int x3 = s3[k];
+				int run3 = 0;
+				while (k >= 0 && s3[k] == x3) {
+					k--;
+					run3++;
+				}
+				count += (long)run1 * run3;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Counts for the number of non-horizontal lines that go through 3 points in arrays a1, a2, a3.
+	 * This method is static, thus it can be called as Collinear.countCollinearConvolution(a1,a2,a3)
+	 *
+	 * @param a1: An UNSORTED array of integers. Each integer a1[i] represents the point (a1[i], 1) on the plain.
+	 * @param a2: An UNSORTED array of integers. Each integer a2[i] represents the point (a2[i], 2) on the plain.
+	 * @param a3: An UNSORTED array of integers. Each integer a3[i] represents the point (a3[i], 3) on the plain.
+	 * @return the number of points which are collinear and do not lie on a horizontal line.
+	 * @throws IllegalArgumentException if the values in a1 and a3 span too large a range (see canConvolve()).
+	 * <p>
+	 * As in countCollinearSweep(), we are looking for x1 + x3 = 2*x2. If h1 and h3 are the frequency
+	 * histograms of a1 and a3, then the number of pairs which sum to s is entry s of the convolution
+	 * of h1 and h3, which is computed exactly with Convolution.convolve(). The result is the sum of
+	 * this entry at 2*x2 for every x2 in a2. None of the arrays are modified.
+	 * <p>
+	 * <p>
+	 * Order of Growth
+	 * -------------------------
+	 * <p>
+	 * Order of Growth: N + R log R, where R is the range of values in a1 and a3
+	 * <p>
+	 * Explanation: Building the histograms and looking up each x2 is linear, while the convolution
+	 * of the histograms takes R log R.
+	 */
+	static long countCollinearConvolution(int[] a1, int[] a2, int[] a3) {
+		if (a1.length == 0 || a2.length == 0 || a3.length == 0) {
+			return 0;
+		}
+		if (!canConvolve(a1, a3)) {
+			throw new IllegalArgumentException("Range of values in a1 and a3 is too large to convolve");
+		}
+
+		int min1 = min(a1), min3 = min(a3);
+		long[] sums = Convolution.convolve(histogram(a1, min1), histogram(a3, min3));
+
+		long count = 0;
+		for (int x2 : a2) {
+			long s = 2L*x2 - min1 - min3;
+			if (s >= 0 && s < sums.length) {
+				count += sums[(int)s];
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * @return true if countCollinearConvolution() can handle the range of values in a1 and a3.
+	 */
+	static boolean canConvolve(int[] a1, int[] a3) {
+		return convolutionLength(a1, a3) <= Convolution.MAX_LENGTH;
+	}
+
+	/**
+	 * @return the length of the convolution of the histograms of a1 and a3.
+	 */
+	private static long convolutionLength(int[] a1, int[] a3) {
+		if (a1.length == 0 || a3.length == 0) {
+			return 0;
+		}
+		return ((long)max(a1) - min(a1)) + ((long)max(a3) - min(a3)) + 1;
+	}
+
+	// Approximate cost of one element of one level of the convolution relative to one hash lookup
+	private static final int CONVOLUTION_COST = 8;
+	/**
+	 * The longest convolution countCollinearAuto() will choose. The transforms need about 40 bytes
+	 * per element of the (power of two) length, so this bounds them to ~40MB, well below the
+	 * ~320MB of a convolution of Convolution.MAX_LENGTH.
+	 */
+	static final int AUTO_CONVOLUTION_LENGTH = 1 << 20;
+	/**
+	 * The longest convolution countCollinearAuto() will choose per point in a1 and a3, so that it
+	 * never needs more than a small multiple of the memory countCollinearHash() would.
+	 */
+	static final int AUTO_LENGTH_PER_POINT = 16;
+
+	/**
+	 * @return true if countCollinearAuto() counts a1, a2, a3 with countCollinearConvolution(),
+	 * and false if it uses countCollinearHash().
+	 */
+	static boolean autoConvolves(int[] a1, int[] a2, int[] a3) {
+		long length = convolutionLength(a1, a3);
+		if (length > AUTO_CONVOLUTION_LENGTH || length > AUTO_LENGTH_PER_POINT * ((long)a1.length + a3.length)) {
+			return false;
+		}
+		int log = 64 - Long.numberOfLeadingZeros(length);
+		return CONVOLUTION_COST * length * log < (long)a1.length * a2.length;
+	}
+
+	/**
+	 * Counts for the number of non-horizontal lines that go through 3 points in arrays a1, a2, a3,
+	 * choosing between countCollinearConvolution() and countCollinearHash().
+	 * This method is static, thus it can be called as Collinear.countCollinearAuto(a1,a2,a3)
+	 *
+	 * @param a1: An UNSORTED array of integers. Each integer a1[i] represents the point (a1[i], 1) on the plain.
+	 * @param a2: An UNSORTED array of integers. Each integer a2[i] represents the point (a2[i], 2) on the plain.
+	 * @param a3: An UNSORTED array of integers. Each integer a3[i] represents the point (a3[i], 3) on the plain.
+	 * @return the number of points which are collinear and do not lie on a horizontal line.
+	 * <p>
+	 * The convolution is used when the range R of values is small enough relative to N that
+	 * R log R work (with a large constant factor for the 9 transforms) is less than the N^2 hash
+	 * table lookups. Since the convolution needs memory proportional to R rather than N, it is
+	 * also only used when R is at most AUTO_CONVOLUTION_LENGTH (~40MB of transforms) and at most
+	 * AUTO_LENGTH_PER_POINT times the number of points in a1 and a3; wider ranges are always
+	 * counted with the hash table, however much faster the convolution would be.
+	 */
+	static long countCollinearAuto(int[] a1, int[] a2, int[] a3) {
+		if (autoConvolves(a1, a2, a3)) {
+			return countCollinearConvolution(a1, a2, a3);
+		}
+		return countCollinearHash(a1, a2, a3);
+	}
+
+	private static int[] histogram(int[] a, int min) {
+		int[] h = new int[max(a) - min + 1];
+		for (int x : a) {
+			h[x - min]++;
+		}
+		return h;
+	}
+
+	private static int min(int[] a) {
+		int min = Integer.MAX_VALUE;
+		for (int x : a) {
+			min = Math.min(min, x);
+		}
+		return min;
+	}
+
+	private static int max(int[] a) {
+		int max = Integer.MIN_VALUE;
+		for (int x : a) {
+			max = Math.max(max, x);
+		}
+		return max;
+	}
+
+	/**
+	 * Counts for the number of non-horizontal lines that go through 3 points in arrays a1, a2, a3.
+	 * This method is static, thus it can be called as Collinear.countCollinearCompressed(a1,a2,a3)
+	 *
+	 * @param a1: An UNSORTED array of integers. Each integer a1[i] represents the point (a1[i], 1) on the plain.
+	 * @param a2: An UNSORTED array of integers. Each integer a2[i] represents the point (a2[i], 2) on the plain.
+	 * @param a3: An UNSORTED array of integers. Each integer a3[i] represents the point (a3[i], 3) on the plain.
+	 * @return the number of points which are collinear and do not lie on a horizontal line.
+	 * <p>
+	 * Each array is first collapsed into its distinct values with their multiplicities (see
+	 * CompressedInts), after which countCollinear(c1,c2,c3) only has to consider distinct values.
+	 * <p>
+	 * As in countCollinearSweep(), the sums are computed with long arithmetic, so the result
+	 * differs from countCollinear() and countCollinearFast() when 2*x2 - x1 overflows an int
+	 * (which they let wrap around): only points which are collinear without wrapping are counted.
+	 * <p>
+	 * <p>
+	 * Order of Growth
+	 * -------------------------
+	 * <p>
+	 * Order of Growth: N + D^2, where D is the number of distinct values in each array
+	 * <p>
+	 * Explanation: Compressing each array requires sorting it (in N with radixSort()), after which the counting itself
+	 * takes D^2.
+	 */
+	static long countCollinearCompressed(int[] a1, int[] a2, int[] a3) {
+		return countCollinear(CompressedInts.of(a1), CompressedInts.of(a2), CompressedInts.of(a3));
+	}
+
+	// Approximate cost of a hash table lookup relative to one step of a two-pointer sweep
+	private static final int HASH_COST = 3;
+
+	/**
+	 * Counts for the number of non-horizontal lines that go through 3 points on the lines y=1,
+	 * y=2 and y=3, where the points on each line are given in compressed form.
+	 * This method is static, thus it can be called as Collinear.countCollinear(c1,c2,c3)
+	 *
+	 * @param c1: The distinct x coordinates of the points on y=1 with their multiplicities.
+	 * @param c2: The distinct x coordinates of the points on y=2 with their multiplicities.
+	 * @param c3: The distinct x coordinates of the points on y=3 with their multiplicities.
+	 * @return the number of points which are collinear and do not lie on a horizontal line.
+	 * <p>
+	 * Each matching (x1, x2, x3) of distinct values accounts for the product of their
+	 * multiplicities. The matches for each x2 are found either with a two-pointer sweep over the
+	 * distinct values of c1 and c3 (as in countCollinearSweep()), or by looking up each x3 in a
+	 * hash table of c3 (as in countCollinearHash()), whichever is expected to be cheaper. Since
+	 * these products can be large, sums are computed with long arithmetic.
+	 * <p>
+	 * <p>
+	 * Order of Growth
+	 * -------------------------
+	 * <p>
+	 * Order of Growth: D^2 (expected), where D is the number of distinct values in each array
+	 * <p>
+	 * Explanation: Either D2*(D1+D3) steps of the sweep or D1*D2 hash table lookups.
+	 */
+	static long countCollinear(CompressedInts c1, CompressedInts c2, CompressedInts c3) {
+		long sweepCost = (long)c2.distinct() * (c1.distinct() + c3.distinct());
+		long hashCost = (long)HASH_COST * c1.distinct() * c2.distinct() + c3.distinct();
+
+		long count = 0;
+		if (sweepCost <= hashCost) {
+			for (int j = 0; j < c2.distinct(); j++) {
+				count += c2.count(j) * countSums(c1, c3, 2L*c2.value(j));
+			}
+		} else {
+			IntCountTable index = c3.toTable();
+			for (int j = 0; j < c2.distinct(); j++) {
+				long twoX2 = 2L*c2.value(j);
+				long matches = 0;
+				for (int i = 0; i < c1.distinct(); i++) {
+					long x3 = twoX2 - c1.value(i);
+					if (x3 >= Integer.MIN_VALUE && x3 <= Integer.MAX_VALUE) {
+						matches += (long)c1.count(i) * index.count((int)x3);
+					}
+				}
+				count += c2.count(j) * matches;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Counts the pairs of elements of c1 and c3 which sum to 'sum', weighted by multiplicity.
+	 */
+	private static long countSums(CompressedInts c1, CompressedInts c3, long sum) {
+		long count = 0;
+		int i = 0;
+		int k = c3.distinct() - 1;
+		while (i < c1.distinct() && k >= 0) {
+			long current = (long)c1.value(i) + c3.value(k);
+			if (current < sum) {
+				i++;
+			} else if (current > sum) {
+				k--;
+			} else {
+				count += (long)c1.count(i++) * c3.count(k--);
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Estimates the number of non-horizontal lines that go through 3 points in arrays a1, a2, a3,
+	 * as estimateCollinear(a1,a2,a3,epsilon,delta,rand) does with a new unseeded Random.
+	 * This method is static, thus it can be called as Collinear.estimateCollinear(a1,a2,a3,epsilon,delta)
+	 *
+	 * @param a1: An UNSORTED array of integers. Each integer a1[i] represents the point (a1[i], 1) on the plain.
+	 * @param a2: An UNSORTED array of integers. Each integer a2[i] represents the point (a2[i], 2) on the plain.
+	 * @param a3: An UNSORTED array of integers. Each integer a3[i] represents the point (a3[i], 3) on the plain.
+	 * @param epsilon: The maximum error of the estimate, as a fraction of the number of pairs N1*N2.
+	 * @param delta: The maximum probability that the error is larger than that.
+	 * @return an estimator whose estimate() is within epsilon*N1*N2 of countCollinear(a1,a2,a3) with
+	 * probability at least 1 - delta, and which can be refined further with more samples.
+	 */
+	static CollinearEstimator estimateCollinear(int[] a1, int[] a2, int[] a3, double epsilon, double delta) {
+		return estimateCollinear(a1, a2, a3, epsilon, delta, new Random());
+	}
+
+	/**
+	 * Estimates the number of non-horizontal lines that go through 3 points in arrays a1, a2, a3.
+	 * This method is static, thus it can be called as Collinear.estimateCollinear(a1,a2,a3,epsilon,delta,rand)
+	 *
+	 * @param a1: An UNSORTED array of integers. Each integer a1[i] represents the point (a1[i], 1) on the plain.
+	 * @param a2: An UNSORTED array of integers. Each integer a2[i] represents the point (a2[i], 2) on the plain.
+	 * @param a3: An UNSORTED array of integers. Each integer a3[i] represents the point (a3[i], 3) on the plain.
+	 * @param epsilon: The maximum error of the estimate, as a fraction of the number of pairs N1*N2.
+	 * @param delta: The maximum probability that the error is larger than that.
+	 * @param rand: The source of randomness for choosing the pairs, e.g. a seeded Random for reproducible estimates.
+	 * @return an estimator whose estimate() is within epsilon*N1*N2 of countCollinear(a1,a2,a3) with
+	 * probability at least 1 - delta, and which can be refined further with more samples.
+	 * <p>
+	 * A hash table of a3 is built (see CollinearIndex.hashed()), and then random pairs from a1 and
+	 * a2 are looked up in it, see CollinearEstimator. None of the arrays are modified.
+	 * <p>
+	 * <p>
+	 * Order of Growth
+	 * -------------------------
+	 * <p>
+	 * Order of Growth: N + M^2 log(M / (epsilon delta)) / epsilon^2 (expected), where M is the largest multiplicity in a3
+	 * <p>
+	 * Explanation: Building the hash table is linear, after which each sample is a constant time lookup.
+	 */
+	static CollinearEstimator estimateCollinear(int[] a1, int[] a2, int[] a3, double epsilon, double delta, Random rand) {
+		CollinearEstimator estimator = new CollinearEstimator(a1, a2, CollinearIndex.hashed(a3), rand);
+		estimator.sample(estimator.samplesNeeded(epsilon, delta));
+		return estimator;
+	}
+
+	/**
+	 * Enumerates the triples of indices of the points counted by countCollinear(a1,a2,a3), lazily.
+	 * This method is static, thus it can be called as Collinear.triples(a1,a2,a3)
+	 *
+	 * @param a1: An UNSORTED array of integers. Each integer a1[i] represents the point (a1[i], 1) on the plain.
+	 * @param a2: An UNSORTED array of integers. Each integer a2[i] represents the point (a2[i], 2) on the plain.
+	 * @param a3: An UNSORTED array of integers. Each integer a3[i] represents the point (a3[i], 3) on the plain.
+	 * @return the triples (i, j, k) such that (a1[i], 1), (a2[j], 2), (a3[k], 3) are collinear,
+	 * which can be passed to a TripleConsumer sequentially, in parallel or through a Cursor.
+	 * <p>
+	 * ----------------------------------------------------------
+	 * <p>
+	 * Performance: N log N to build, N^2 log N + T to enumerate, where T is the number of triples
+	 * <p>
+	 * Explanation: See CollinearTriples.
+	 */
+	static CollinearTriples triples(int[] a1, int[] a2, int[] a3) {
+		return new CollinearTriples(a1, a2, a3);
+	}
+
+	// Number of integers copied out of a MappedInts at a time
+	private static final int MAPPED_BUFFER = 1 << 16;
+	/**
+	 * The number of points on y=3 held in a hash table at a time by countCollinear(m1,m2,m3).
+	 */
+	static final int MAPPED_BLOCK = 1 << 20;
+	/**
+	 * The longest convolution computed by countCollinear(m1,m2,m3). The transforms need about 40
+	 * bytes per element of the (power of two) length, so this bounds the heap used to ~10MB however
+	 * many points there are. Wider ranges are counted in blocks instead.
+	 */
+	static final int MAPPED_CONVOLUTION_LENGTH = 1 << 18;
+
+	/**
+	 * Counts for the number of non-horizontal lines that go through 3 points on the lines y=1,
+	 * y=2 and y=3, where the points on each line are read from a memory-mapped file.
+	 * This method is static, thus it can be called as Collinear.countCollinear(m1,m2,m3)
+	 *
+	 * @param m1: The x coordinates of the points on y=1.
+	 * @param m2: The x coordinates of the points on y=2.
+	 * @param m3: The x coordinates of the points on y=3.
+	 * @return the number of points which are collinear and do not lie on a horizontal line.
+	 * <p>
+	 * The points are never all held on the heap at once; they are streamed through small buffers.
+	 * If the range of values in m1 and m3 spans at most MAPPED_CONVOLUTION_LENGTH values, their
+	 * histograms are convolved as in countCollinearConvolution(), which only needs memory
+	 * proportional to the range (unlike countCollinearConvolution(), the range is capped well below
+	 * Convolution.MAX_LENGTH so that the transforms fit in a small heap). Otherwise
+	 * m3 is split into blocks of MAPPED_BLOCK points, and for each block every pair from m1 and m2
+	 * is looked up in a hash table of the block as in countCollinearHash(). As in the other
+	 * counting methods that use long arithmetic, x3 = 2*x2 - x1 must fit in an int to match.
+	 * <p>
+	 * <p>
+	 * Order of Growth
+	 * -------------------------
+	 * <p>
+	 * Order of Growth: N + R log R, where R is the range of values in m1 and m3, if it is at most
+	 * MAPPED_CONVOLUTION_LENGTH; N^2 * (N / MAPPED_BLOCK) (expected) otherwise
+	 * <p>
+	 * Explanation: See countCollinearConvolution(); otherwise N^2 hash table lookups for each of the
+	 * N / MAPPED_BLOCK blocks.
+	 */
+	static long countCollinear(MappedInts m1, MappedInts m2, MappedInts m3) {
+		return countCollinear(m1, m2, m3, MAPPED_BLOCK);
+	}
+
+	/**
+	 * Counts as countCollinear(m1,m2,m3) does, with the given number of points of m3 in each block.
+	 */
+	static long countCollinear(MappedInts m1, MappedInts m2, MappedInts m3, int block) {
+		if (block < 1) {
+			throw new IllegalArgumentException("block must be positive");
+		}
+		if (m1.length() == 0 || m2.length() == 0 || m3.length() == 0) {
+			return 0;
+		}
+
+		int[] buffer = new int[MAPPED_BUFFER];
+		int min1 = Integer.MAX_VALUE, max1 = Integer.MIN_VALUE;
+		for (long from = 0; from < m1.length(); ) {
+			int n = m1.read(from, buffer);
+			for (int i = 0; i < n; i++) {
+				min1 = Math.min(min1, buffer[i]);
+				max1 = Math.max(max1, buffer[i]);
+			}
+			from += n;
+		}
+		int min3 = Integer.MAX_VALUE, max3 = Integer.MIN_VALUE;
+		for (long from = 0; from < m3.length(); ) {
+			int n = m3.read(from, buffer);
+			for (int i = 0; i < n; i++) {
+				min3 = Math.min(min3, buffer[i]);
+				max3 = Math.max(max3, buffer[i]);
+			}
+			from += n;
+		}
+
+		// The histogram entries are ints, and their sums must fit for the convolution to be exact
+		long length = ((long)max1 - min1) + ((long)max3 - min3) + 1;
+		if (length <= MAPPED_CONVOLUTION_LENGTH && m1.length() <= Integer.MAX_VALUE && m3.length() <= Integer.MAX_VALUE) {
+			long[] sums = Convolution.convolve(histogram(m1, min1, max1, buffer), histogram(m3, min3, max3, buffer));
+
+			long count = 0;
+			for (long from = 0; from < m2.length(); ) {
+				int n = m2.read(from, buffer);
+				for (int j = 0; j < n; j++) {
+					long s = 2L*buffer[j] - min1 - min3;
+					if (s >= 0 && s < sums.length) {
+						count += sums[(int)s];
+					}
+				}
+				from += n;
+			}
+			return count;
+		}
+
+		int[] b2 = new int[MAPPED_BUFFER];
+		long count = 0;
+		for (long from3 = 0; from3 < m3.length(); from3 += block) {
+			long end3 = Math.min(m3.length(), from3 + block);
+			IntCountTable index = new IntCountTable((int)(end3 - from3));
+			for (long from = from3; from < end3; ) {
+				int n = (int)Math.min(m3.read(from, buffer), end3 - from);
+				for (int k = 0; k < n; k++) {
+					index.add(buffer[k]);
+				}
+				from += n;
+			}
+
+			for (long from1 = 0; from1 < m1.length(); ) {
+				int n1 = m1.read(from1, buffer);
+				for (long from2 = 0; from2 < m2.length(); ) {
+					int n2 = m2.read(from2, b2);
+					for (int i = 0; i < n1; i++) {
+						long negX1 = -(long)buffer[i];
+						for (int j = 0; j < n2; j++) {
+							long x3 = 2L*b2[j] + negX1;
+							if (x3 >= Integer.MIN_VALUE && x3 <= Integer.MAX_VALUE) {
+								count += index.count((int)x3);
+							}
+						}
+					}
+					from2 += n2;
 				}
+				from1 += n1;
 			}
 		}
 		return count;
 	}
 
+	private static int[] histogram(MappedInts m, int min, int max, int[] buffer) {
+		int[] h = new int[max - min + 1];
+		for (long from = 0; from < m.length(); ) {
+			int n = m.read(from, buffer);
+			for (int i = 0; i < n; i++) {
+				h[buffer[i] - min]++;
+			}
+			from += n;
+		}
+		return h;
+	}
+
+	/**
+	 * The available algorithms for counting collinear points, see Collinear.count().
+	 */
+	enum Strategy {
+		/** countCollinear() */
+		BRUTE_FORCE,
+		/** countCollinearVector() */
+		VECTOR,
+		/** countCollinearFast(), note that this sorts a3 in place */
+		BINARY_SEARCH,
+		/** countCollinearHash() */
+		HASH,
+		/** countCollinearParallel() with all available processors */
+		PARALLEL,
+		/** countCollinearSweep() */
+		SWEEP,
+		/** countCollinearConvolution(), only for a bounded range of values */
+		CONVOLUTION,
+		/** countCollinearAuto() */
+		AUTO,
+		/** countCollinearCompressed() */
+		COMPRESSED
+	}
+
+	/**
+	 * Counts for the number of non-horizontal lines that go through 3 points in arrays a1, a2, a3,
+	 * using the given algorithm.
+	 * This method is static, thus it can be called as Collinear.count(strategy,a1,a2,a3)
+	 *
+	 * @param strategy: The algorithm to use.
+	 * @param a1: An UNSORTED array of integers. Each integer a1[i] represents the point (a1[i], 1) on the plain.
+	 * @param a2: An UNSORTED array of integers. Each integer a2[i] represents the point (a2[i], 2) on the plain.
+	 * @param a3: An UNSORTED array of integers. Each integer a3[i] represents the point (a3[i], 3) on the plain.
+	 * @return the number of points which are collinear and do not lie on a horizontal line.
+	 */
+	static long count(Strategy strategy, int[] a1, int[] a2, int[] a3) {
+		switch (strategy) {
+			case BRUTE_FORCE:
+				return countCollinear(a1, a2, a3);
+			case VECTOR:
+				return countCollinearVector(a1, a2, a3);
+			case BINARY_SEARCH:
+				return countCollinearFast(a1, a2, a3);
+			case HASH:
+				return countCollinearHash(a1, a2, a3);
+			case PARALLEL:
+				return countCollinearParallel(a1, a2, a3, -1);
+			case SWEEP:
+				return countCollinearSweep(a1, a2, a3);
+			case CONVOLUTION:
+				return countCollinearConvolution(a1, a2, a3);
+			case AUTO:
+				return countCollinearAuto(a1, a2, a3);
+			case COMPRESSED:
+				return countCollinearCompressed(a1, a2, a3);
+			default:
+				throw new IllegalArgumentException("Unknown strategy " + strategy);
+		}
+	}
+
 	/**
 	 * Sorts an array of integers according to InsertionSort.
 	 * This method is static, thus it can be called as Collinear.sort(a)
@@ -123,6 +833,99 @@ class Collinear {
 		}
 	}
 
+	/**
+	 * Sorts an array of integers according to (LSD) RadixSort.
+	 * This method is static, thus it can be called as Collinear.radixSort(a)
+	 *
+	 * @param a: An UNSORTED array of integers.
+	 * @return after the method returns, the array must be in ascending sorted order.
+	 * <p>
+	 * ----------------------------------------------------------
+	 * <p>
+	 * Performance: N
+	 * <p>
+	 * Explanation: See radixSort(a,scratch).
+	 */
+	static void radixSort(int[] a) {
+		radixSort(a, a.length < RADIX_CUTOFF ? null : new int[a.length]);
+	}
+
+	/**
+	 * Arrays smaller than this are sorted by InsertionSort in radixSort(), since clearing and
+	 * summing the digit counts costs more than sorting them directly.
+	 */
+	static final int RADIX_CUTOFF = 64;
+	private static final int RADIX_BITS = 8;
+	private static final int RADIX = 1 << RADIX_BITS;
+	private static final int RADIX_PASSES = 32 / RADIX_BITS;
+
+	/**
+	 * Sorts an array of integers according to (LSD) RadixSort, using a given scratch buffer so
+	 * that it can be reused for sorting many arrays.
+	 * This method is static, thus it can be called as Collinear.radixSort(a,scratch)
+	 *
+	 * @param a: An UNSORTED array of integers.
+	 * @param scratch: An array at least as long as 'a' whose contents will be overwritten (may be
+	 *               null if a.length &lt; RADIX_CUTOFF).
+	 * @return after the method returns, the array must be in ascending sorted order.
+	 * <p>
+	 * ----------------------------------------------------------
+	 * <p>
+	 * Performance: N
+	 * <p>
+	 * Explanation: The elements are distributed by each of the 4 bytes in turn, starting from the
+	 * least significant, with a stable counting sort. The counts for all 4 bytes are gathered in a
+	 * single linear pass beforehand, and passes where every element has the same byte are skipped.
+	 * The sign bit is flipped when taking the most significant byte, so that negative numbers come
+	 * before positive ones.
+	 */
+	static void radixSort(int[] a, int[] scratch) {
+		int n = a.length;
+		if (n < RADIX_CUTOFF) {
+			sort(a);
+			return;
+		}
+		if (scratch.length < n) {
+			throw new IllegalArgumentException("Scratch buffer is too small");
+		}
+
+		int[][] counts = new int[RADIX_PASSES][RADIX + 1];
+		for (int x : a) {
+			for (int pass = 0; pass < RADIX_PASSES; pass++) {
+				counts[pass][digit(x, pass) + 1]++;
+			}
+		}
+
+		int[] from = a, to = scratch;
+		for (int pass = 0; pass < RADIX_PASSES; pass++) {
+			int[] offsets = counts[pass];
+			if (offsets[digit(from[0], pass) + 1] == n) {
+				continue;
+			}
+
+			for (int d = 0; d < RADIX; d++) {
+				offsets[d + 1] += offsets[d];
+			}
+			for (int i = 0; i < n; i++) {
+				int x = from[i];
+				to[offsets[digit(x, pass)]++] = x;
+			}
+
+			int[] tmp = from;
+			from = to;
+			to = tmp;
+		}
+
+		if (from != a) {
+			System.arraycopy(from, 0, a, 0, n);
+		}
+	}
+
+	private static int digit(int x, int pass) {
+		int d = (x >>> (pass * RADIX_BITS)) & (RADIX - 1);
+		return pass == RADIX_PASSES - 1 ? d ^ (RADIX >>> 1) : d;
+	}
+
 	/**
 	 * Searches for an integer inside an array of integers.
 	 * This method is static, thus it can be called as Collinear.binarySearch(a,x)
@@ -153,4 +956,43 @@ class Collinear {
 
 		return false;
 	}
+
+	/**
+	 * Counts the occurrences of an integer inside an array of integers.
+	 * This method is static, thus it can be called as Collinear.binarySearchCount(a,x)
+	 *
+	 * @param a: A array of integers SORTED in ascending order.
+	 * @param x: An integer.
+	 * @return the number of elements of 'a' which are equal to 'x'.
+	 * <p>
+	 * ----------------------------------------------------------
+	 * <p>
+	 * Performance: log N
+	 * <p>
+	 * Explanation: Two binary searches, for the first element >= x and the first element > x.
+	 */
+	static int binarySearchCount(int[] a, int x) {
+		int first = lowerBound(a, x);
+		if (first == a.length || a[first] != x) {
+			return 0;
+		}
+		return (x == Integer.MAX_VALUE ? a.length : lowerBound(a, x + 1)) - first;
+	}
+
+	/**
+	 * @return the index of the first element of the sorted array 'a' which is >= x (a.length if none).
+	 */
+	private static int lowerBound(int[] a, int x) {
+		int left = 0;
+		int right = a.length;
+		while (left < right) {
+			int mid = (left + right) >>> 1;
+			if (a[mid] < x) {
+				left = mid + 1;
+			} else {
+				right = mid;
+			}
+		}
+		return left;
+	}
 }
@@ -0,0 +1,138 @@
+/**
+ * This class keeps a running count of collinear points on the lines y=1, y=2 and y=3
+ * (as counted by Collinear.countCollinear()) while points are added and removed.
+ * <p>
+ * The multiplicity of each x on each line is kept in an IntCountTable. When a point is added to
+ * or removed from a line, the number of collinear triples it forms with the points on the other
+ * two lines is computed by iterating over the distinct values of one of them and looking up the
+ * third point on the remaining line, so the count never has to be recomputed from scratch.
+ *
+ * @author Jack O'Sullivan
+ * @version 24/09/18 16:21:04
+ */
+class CollinearCounter {
+	private final IntCountTable[] lines = {
+			new IntCountTable(16), new IntCountTable(16), new IntCountTable(16)
+	};
+	private long count;
+
+	/**
+	 * Creates an empty counter.
+	 */
+	CollinearCounter() {
+	}
+
+	/**
+	 * Creates a counter holding the points in three arrays, as in Collinear.countCollinear(a1,a2,a3).
+	 * <p>
+	 * Performance: N^2 (expected)
+	 */
+	CollinearCounter(int[] a1, int[] a2, int[] a3) {
+		for (int x : a1) {
+			lines[0].add(x);
+		}
+		for (int x : a3) {
+			lines[2].add(x);
+		}
+		for (int x : a2) {
+			add(2, x);
+		}
+	}
+
+	/**
+	 * Adds the point (x, line).
+	 * <p>
+	 * Performance: N (amortized expected), where N is the number of distinct values currently on
+	 * one of the other lines
+	 *
+	 * @param line: The line (1, 2 or 3) to add the point to.
+	 * @param x: The x coordinate of the point.
+	 */
+	void add(int line, int x) {
+		count += triplesWith(line, x);
+		lines[line - 1].add(x);
+	}
+
+	/**
+	 * Removes the point (x, line), if it is present.
+	 * <p>
+	 * Performance: N (amortized expected), where N is the number of distinct values currently on
+	 * one of the other lines
+	 *
+	 * @param line: The line (1, 2 or 3) to remove the point from.
+	 * @param x: The x coordinate of the point.
+	 * @return true if the point was removed; false if there was no such point.
+	 */
+	boolean remove(int line, int x) {
+		checkLine(line);
+		if (!lines[line - 1].remove(x)) {
+			return false;
+		}
+		count -= triplesWith(line, x);
+		return true;
+	}
+
+	/**
+	 * Performance: 1
+	 *
+	 * @return the number of collinear triples made up of one point from each line.
+	 */
+	long count() {
+		return count;
+	}
+
+	/**
+	 * Performance: 1
+	 *
+	 * @return the number of points on the given line.
+	 */
+	long size(int line) {
+		checkLine(line);
+		return lines[line - 1].total();
+	}
+
+	/**
+	 * @return the number of collinear triples that the point (x, line) forms with the points on the
+	 * other two lines (none of which depend on the points on its own line).
+	 */
+	private long triplesWith(int line, int x) {
+		checkLine(line);
+		IntCountTable l1 = lines[0], l2 = lines[1], l3 = lines[2];
+		long triples = 0;
+		switch (line) {
+			case 1:
+				// x3 = 2*x2 - x1
+				for (int s = 0; s < l2.slots(); s++) {
+					if (l2.countAt(s) != 0) {
+						triples += (long)l2.countAt(s) * l3.count(2*l2.keyAt(s) - x);
+					}
+				}
+				break;
+			case 2:
+				// x1 + x3 = 2*x2, iterate over whichever of the outer lines has fewer distinct values
+				IntCountTable outer = l1.distinct() <= l3.distinct() ? l1 : l3;
+				IntCountTable other = outer == l1 ? l3 : l1;
+				for (int s = 0; s < outer.slots(); s++) {
+					if (outer.countAt(s) != 0) {
+						triples += (long)outer.countAt(s) * other.count(2*x - outer.keyAt(s));
+					}
+				}
+				break;
+			default:
+				// x1 = 2*x2 - x3
+				for (int s = 0; s < l2.slots(); s++) {
+					if (l2.countAt(s) != 0) {
+						triples += (long)l2.countAt(s) * l1.count(2*l2.keyAt(s) - x);
+					}
+				}
+				break;
+		}
+		return triples;
+	}
+
+	private static void checkLine(int line) {
+		if (line < 1 || line > 3) {
+			throw new IllegalArgumentException("line must be 1, 2 or 3");
+		}
+	}
+}
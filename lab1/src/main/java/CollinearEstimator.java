@@ -0,0 +1,182 @@
+import java.util.Random;
+
+/**
+ * This class estimates the number of collinear points counted by Collinear.countCollinear(a1,a2,a3)
+ * by sampling pairs (a1[i], a2[j]) uniformly at random and looking up the number of matching x3
+ * in a prebuilt CollinearIndex of a3.
+ * <p>
+ * The count is N1*N2 times the mean multiplicity of x3 = 2*x2 - x1 over all pairs, so each sample
+ * is an unbiased estimate of that mean. Since every sample lies in [0, M], where M is the largest
+ * multiplicity in a3, Hoeffding's inequality bounds the error of the mean of a fixed number of
+ * samples.
+ * <p>
+ * More samples can be taken at any time with sample(), e.g. until the interval is tight enough, so
+ * the bound must hold however the number of samples was chosen, i.e. at every number of samples at
+ * once. The numbers of samples are split into rounds [2^(r-1), 2^r) for r = 1, 2, ..., and round
+ * r is allowed a failure probability of delta / 2^r, which sum to delta over all rounds. Within a
+ * round, Hoeffding's maximal inequality bounds the error of every mean at once: after k samples
+ * in round r (so 2^r <= 2k) the mean is within M * sqrt(2^(r-1) * ln(2^(r+1)/delta)) / k
+ * <= M * sqrt(ln(4k/delta) / k) of the true mean. So with probability at least 1 - delta, every
+ * interval reported is correct. Compared with a single fixed number of samples, this costs about
+ * twice as many samples, plus the ln k. The number of samples needed depends only on epsilon,
+ * delta and M, not on N. Once as many samples would have been taken as there are pairs, the
+ * count is computed exactly instead.
+ *
+ * @author Jack O'Sullivan
+ * @version 11/10/18 16:37:20
+ */
+class CollinearEstimator {
+	private final int[] a1, a2;
+	private final CollinearIndex index;
+	private final Random rand;
+	private final long pairs;
+	private final int range;
+
+	private long samples;
+	private long sum;
+	private boolean exact;
+
+	/**
+	 * Creates an estimator which hasn't taken any samples yet.
+	 *
+	 * @param a1: An UNSORTED array of integers. Each integer a1[i] represents the point (a1[i], 1) on the plain.
+	 * @param a2: An UNSORTED array of integers. Each integer a2[i] represents the point (a2[i], 2) on the plain.
+	 * @param index: An index of the points on y=3.
+	 * @param rand: The source of randomness for choosing the pairs.
+	 */
+	CollinearEstimator(int[] a1, int[] a2, CollinearIndex index, Random rand) {
+		this.a1 = a1;
+		this.a2 = a2;
+		this.index = index;
+		this.rand = rand;
+		pairs = (long)a1.length * a2.length;
+		range = index.maxMultiplicity();
+		// With no pairs or no points on y=3 the count is trivially 0
+		exact = pairs == 0 || range == 0;
+	}
+
+	/**
+	 * @return the number of samples needed for the estimate to be within epsilon * N1*N2 of the count
+	 * with probability at least 1 - delta.
+	 */
+	long samplesNeeded(double epsilon, double delta) {
+		if (epsilon <= 0 || delta <= 0 || delta >= 1) {
+			throw new IllegalArgumentException("epsilon must be positive and delta must be in (0, 1)");
+		}
+		if (range == 0) {
+			return 0;
+		}
+		if (meanError(Long.MAX_VALUE, delta) > epsilon) {
+			return Long.MAX_VALUE;
+		}
+		// The error only shrinks as k grows, so binary search for the smallest k that is enough
+		long lo = 0, hi = Long.MAX_VALUE;
+		while (hi - lo > 1) {
+			long mid = lo + (hi - lo) / 2;
+			if (meanError(mid, delta) <= epsilon) {
+				hi = mid;
+			} else {
+				lo = mid;
+			}
+		}
+		return hi;
+	}
+
+	/**
+	 * @return the bound on the error of the mean multiplicity after k > 0 samples, which holds for
+	 * every k at once with probability at least 1 - delta (see the class comment).
+	 */
+	private double meanError(long k, double delta) {
+		return range * Math.sqrt(Math.log(4.0 * k / delta) / k);
+	}
+
+	/**
+	 * Takes more samples, refining the estimate.
+	 * <p>
+	 * Performance: k (expected)
+	 *
+	 * @param k: The number of samples to take.
+	 */
+	void sample(long k) {
+		if (k < 0) {
+			throw new IllegalArgumentException("k must not be negative");
+		}
+		if (exact) {
+			return;
+		}
+		if (k >= pairs - samples) {
+			// No cheaper than counting every pair
+			sum = index.count(a1, a2);
+			samples = pairs;
+			exact = true;
+			return;
+		}
+
+		for (long s = 0; s < k; s++) {
+			// x3 = 2*x2 - x1, see Collinear.countCollinearFast()
+			sum += index.multiplicity(2*a2[rand.nextInt(a2.length)] - a1[rand.nextInt(a1.length)]);
+		}
+		samples += k;
+	}
+
+	/**
+	 * @return the number of samples taken so far.
+	 */
+	long samples() {
+		return samples;
+	}
+
+	/**
+	 * @return true if the count has been computed exactly, in which case the interval has width 0.
+	 */
+	boolean isExact() {
+		return exact;
+	}
+
+	/**
+	 * @return the estimated number of collinear points, or NaN if no samples have been taken.
+	 */
+	double estimate() {
+		if (exact) {
+			return sum;
+		}
+		return samples == 0 ? Double.NaN : (double)sum / samples * pairs;
+	}
+
+	/**
+	 * @return the half-width of the interval around estimate() which contains the count with
+	 * probability at least 1 - delta.
+	 */
+	double halfWidth(double delta) {
+		if (delta <= 0 || delta >= 1) {
+			throw new IllegalArgumentException("delta must be in (0, 1)");
+		}
+		if (exact) {
+			return 0;
+		}
+		if (samples == 0) {
+			return Double.POSITIVE_INFINITY;
+		}
+		return pairs * meanError(samples, delta);
+	}
+
+	/**
+	 * @return the lower end of the interval which contains the count with probability at least 1 - delta.
+	 */
+	double lower(double delta) {
+		if (samples == 0 && !exact) {
+			return 0;
+		}
+		return Math.max(0, estimate() - halfWidth(delta));
+	}
+
+	/**
+	 * @return the upper end of the interval which contains the count with probability at least 1 - delta.
+	 */
+	double upper(double delta) {
+		if (samples == 0 && !exact) {
+			return (double)pairs * range;
+		}
+		return Math.min((double)pairs * range, estimate() + halfWidth(delta));
+	}
+}
@@ -0,0 +1,219 @@
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * This class is an immutable index of the points on the line y=3 (a3 in Collinear), which can be
+ * built once and then used to count the collinear points for any number of batches of points on
+ * y=1 and y=2, from any number of threads.
+ * <p>
+ * The index holds its own copy of a3, either sorted (looked up by binary search on an
+ * EytzingerArray) or in a hash table (looked up in constant expected time). The arrays passed to
+ * it are never modified.
+ *
+ * @author Jack O'Sullivan
+ * @version 29/09/18 13:12:40
+ */
+abstract class CollinearIndex {
+	private final int size;
+
+	private CollinearIndex(int size) {
+		this.size = size;
+	}
+
+	/**
+	 * Builds an index which stores a sorted copy of a3.
+	 * <p>
+	 * Performance: N
+	 *
+	 * @param a3: An UNSORTED array of integers. Each integer a3[i] represents the point (a3[i], 3) on the plain.
+	 * @return the index.
+	 */
+	static CollinearIndex sorted(int[] a3) {
+		return new Sorted(a3);
+	}
+
+	/**
+	 * Builds an index which stores the multiplicity of each value of a3 in a hash table.
+	 * <p>
+	 * Performance: N (expected)
+	 *
+	 * @param a3: An UNSORTED array of integers. Each integer a3[i] represents the point (a3[i], 3) on the plain.
+	 * @return the index.
+	 */
+	static CollinearIndex hashed(int[] a3) {
+		return new Hashed(a3);
+	}
+
+	/**
+	 * @return the number of points in the index.
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * @param x3: An integer.
+	 * @return the number of points (x3, 3) in the index.
+	 */
+	abstract int multiplicity(int x3);
+
+	/**
+	 * @return the largest multiplicity of any point in the index, or 0 if it is empty.
+	 */
+	abstract int maxMultiplicity();
+
+	/**
+	 * Counts for the number of non-horizontal lines that go through a point in each of a1, a2 and
+	 * the index, as Collinear.countCollinear(a1,a2,a3) would.
+	 * <p>
+	 * Performance: N^2 for a hashed index (expected), N^2 log N for a sorted index
+	 *
+	 * @param a1: An UNSORTED array of integers. Each integer a1[i] represents the point (a1[i], 1) on the plain.
+	 * @param a2: An UNSORTED array of integers. Each integer a2[i] represents the point (a2[i], 2) on the plain.
+	 * @return the number of points which are collinear and do not lie on a horizontal line.
+	 */
+	long count(int[] a1, int[] a2) {
+		return count(a1, a2, 0, a1.length);
+	}
+
+	/**
+	 * Sums the multiplicities of the x3 on the line through each pair (a1[i], 1), (a2[j], 2)
+	 * for i in [from, to).
+	 */
+	long count(int[] a1, int[] a2, int from, int to) {
+		long count = 0;
+		for (int i = from; i < to; i++) {
+			// x3 = 2*x2 - x1, see Collinear.countCollinearFast()
+			int negX1 = -a1[i];
+			for (int j = 0; j < a2.length; j++) {
+				count += multiplicity(2*a2[j] + negX1);
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Counts as count(a1,a2) does, using all available processors.
+	 */
+	long countParallel(int[] a1, int[] a2) {
+		return countParallel(a1, a2, -1);
+	}
+
+	/**
+	 * Counts as count(a1,a2) does, using multiple threads.
+	 * <p>
+	 * The range of indices into a1 is split recursively into tasks on a ForkJoinPool (see
+	 * RangeTask), each of which keeps its own count. Since the index is only ever read, no
+	 * synchronisation is needed.
+	 * <p>
+	 * Performance: N^2 / P (expected) for a hashed index, where P is the parallelism
+	 *
+	 * @param a1: An UNSORTED array of integers. Each integer a1[i] represents the point (a1[i], 1) on the plain.
+	 * @param a2: An UNSORTED array of integers. Each integer a2[i] represents the point (a2[i], 2) on the plain.
+	 * @param parallelism: The number of worker threads to use, or -1 to use all available processors.
+	 * @return the number of points which are collinear and do not lie on a horizontal line.
+	 */
+	long countParallel(int[] a1, int[] a2, int parallelism) {
+		if (parallelism == -1) {
+			parallelism = Runtime.getRuntime().availableProcessors();
+		} else if (parallelism < 1) {
+			throw new IllegalArgumentException("parallelism must be positive or -1");
+		}
+
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try {
+			return pool.invoke(new PairCountTask(a1, a2, this, parallelism));
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Counts the collinear triples for a range of indices into a1, each of which has a2.length pairs.
+	 */
+	@SuppressWarnings("serial")
+	private static class PairCountTask extends RangeTask {
+		private final int[] a1, a2;
+		private final CollinearIndex index;
+
+		PairCountTask(int[] a1, int[] a2, CollinearIndex index, int parallelism) {
+			super(0, a1.length, a2.length, parallelism);
+			this.a1 = a1;
+			this.a2 = a2;
+			this.index = index;
+		}
+
+		private PairCountTask(PairCountTask parent, long from, long to) {
+			super(parent, from, to);
+			this.a1 = parent.a1;
+			this.a2 = parent.a2;
+			this.index = parent.index;
+		}
+
+		@Override
+		RangeTask subtask(long from, long to) {
+			return new PairCountTask(this, from, to);
+		}
+
+		@Override
+		long count(long from, long to) {
+			return index.count(a1, a2, (int)from, (int)to);
+		}
+	}
+
+	private static class Sorted extends CollinearIndex {
+		private final EytzingerArray values;
+		private final int maxMultiplicity;
+
+		Sorted(int[] a3) {
+			super(a3.length);
+			int[] sorted = a3.clone();
+			Collinear.radixSort(sorted);
+			values = new EytzingerArray(sorted);
+
+			int max = 0;
+			for (int i = 0, run = 0; i < sorted.length; i++) {
+				run = i > 0 && sorted[i] == sorted[i - 1] ? run + 1 : 1;
+				max = Math.max(max, run);
+			}
+			maxMultiplicity = max;
+		}
+
+		@Override
+		int multiplicity(int x3) {
+			return values.count(x3);
+		}
+
+		@Override
+		int maxMultiplicity() {
+			return maxMultiplicity;
+		}
+	}
+
+	private static class Hashed extends CollinearIndex {
+		// Never modified after construction
+		private final IntCountTable table;
+		private final int maxMultiplicity;
+
+		Hashed(int[] a3) {
+			super(a3.length);
+			table = new IntCountTable(a3.length);
+			// Track the maximum while adding, rather than scanning the slots, whose number
+			// depends on the capacity rather than on the distinct values
+			int max = 0;
+			for (int x : a3) {
+				max = Math.max(max, table.add(x, 1));
+			}
+			maxMultiplicity = max;
+		}
+
+		@Override
+		int multiplicity(int x3) {
+			return table.count(x3);
+		}
+
+		@Override
+		int maxMultiplicity() {
+			return maxMultiplicity;
+		}
+	}
+}
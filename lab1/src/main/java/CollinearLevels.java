@@ -0,0 +1,241 @@
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * This class counts the collinear points on any number of horizontal lines at arbitrary integer
+ * heights (levels), generalising Collinear.countCollinear() from the lines y=1, y=2 and y=3.
+ * <p>
+ * For a chosen set of k levels, count() returns the number of ways to pick one point on each of
+ * them such that all k points lie on the same line (which can't be horizontal, since the levels
+ * are different). As in Collinear, points with the same x on the same level are counted
+ * separately.
+ * <p>
+ * Each level is stored both as its distinct values with their multiplicities (a CompressedInts)
+ * and as a hash table of the multiplicities (an IntCountTable). Two of the chosen levels, those
+ * with the fewest distinct values, are used as anchors: the line through each pair of anchor
+ * points crosses every other level y at x = xa + (xb - xa) * (y - ya) / (yb - ya), which is
+ * computed exactly (it only matches a point if the division is exact) and looked up in that
+ * level's hash table.
+ *
+ * @author Jack O'Sullivan
+ * @version 13/10/18 12:08:33
+ */
+class CollinearLevels {
+	// Products of two longs smaller than this in magnitude can't overflow a long
+	private static final long SAFE_FACTOR = 1L << 31;
+	// Returned by Query.crossing() when a line doesn't cross a level at an int
+	private static final long NO_CROSSING = Long.MIN_VALUE;
+
+	private static class Level {
+		final int y;
+		final CompressedInts points;
+		final IntCountTable table;
+
+		Level(int y, int[] xs) {
+			this.y = y;
+			points = CompressedInts.of(xs);
+			table = points.toTable();
+		}
+	}
+
+	private final Map<Integer, Level> levels = new HashMap<>();
+
+	/**
+	 * Builds the tables for every level. The arrays are not modified.
+	 * <p>
+	 * Performance: N (expected), where N is the total number of points
+	 *
+	 * @param levels: The x coordinates of the points on each level, keyed by the y coordinate of the level.
+	 */
+	CollinearLevels(Map<Integer, int[]> levels) {
+		for (Map.Entry<Integer, int[]> level : levels.entrySet()) {
+			this.levels.put(level.getKey(), new Level(level.getKey(), level.getValue()));
+		}
+	}
+
+	/**
+	 * @return the number of points on a level, or 0 if there is no such level.
+	 */
+	long size(int y) {
+		Level level = levels.get(y);
+		return level == null ? 0 : level.points.total();
+	}
+
+	/**
+	 * Counts the lines through one point on each of the given levels.
+	 * <p>
+	 * Performance: DA * DB * (k - 2) (expected), where DA and DB are the numbers of distinct
+	 * values on the two anchor levels
+	 *
+	 * @param ys: The y coordinates of at least 2 distinct levels.
+	 * @return the number of ways to choose one point on each level such that they are all collinear.
+	 * @throws IllegalArgumentException if fewer than 2 levels are given, or a level is repeated or unknown.
+	 */
+	long count(int... ys) {
+		Query query = new Query(ys);
+		return query.count(0, query.a.distinct());
+	}
+
+	/**
+	 * Counts as count(ys) does, using all available processors.
+	 */
+	long countParallel(int... ys) {
+		return countParallel(ys, -1);
+	}
+
+	/**
+	 * Counts as count(ys) does, using multiple threads.
+	 * <p>
+	 * The range of distinct values on the first anchor level is split recursively into tasks on a
+	 * ForkJoinPool, in the same way as CollinearIndex.countParallel().
+	 * <p>
+	 * Performance: DA * DB * (k - 2) / P (expected), where P is the parallelism
+	 *
+	 * @param ys: The y coordinates of at least 2 distinct levels.
+	 * @param parallelism: The number of worker threads to use, or -1 to use all available processors.
+	 * @return the number of ways to choose one point on each level such that they are all collinear.
+	 */
+	long countParallel(int[] ys, int parallelism) {
+		if (parallelism == -1) {
+			parallelism = Runtime.getRuntime().availableProcessors();
+		} else if (parallelism < 1) {
+			throw new IllegalArgumentException("parallelism must be positive or -1");
+		}
+
+		Query query = new Query(ys);
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try {
+			return pool.invoke(new AnchorTask(query, parallelism));
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * The anchor levels and remaining levels for one call to count().
+	 */
+	private class Query {
+		final CompressedInts a, b;
+		final long ya;
+		// Signed distance between the anchor levels
+		final long dy;
+		// The remaining levels, and their signed distances from the first anchor level
+		final IntCountTable[] tables;
+		final long[] offsets;
+
+		Query(int[] ys) {
+			if (ys.length < 2) {
+				throw new IllegalArgumentException("At least 2 levels are needed");
+			}
+			Level[] chosen = new Level[ys.length];
+			for (int l = 0; l < ys.length; l++) {
+				chosen[l] = levels.get(ys[l]);
+				if (chosen[l] == null) {
+					throw new IllegalArgumentException("No level y=" + ys[l]);
+				}
+				for (int m = 0; m < l; m++) {
+					if (ys[m] == ys[l]) {
+						throw new IllegalArgumentException("Level y=" + ys[l] + " is repeated");
+					}
+				}
+			}
+
+			// The anchors are the levels with the fewest distinct values, and the other levels are
+			// checked in the same order, since a level with fewer values is more likely to miss
+			Arrays.sort(chosen, new Comparator<Level>() {
+				@Override
+				public int compare(Level l1, Level l2) {
+					return Integer.compare(l1.points.distinct(), l2.points.distinct());
+				}
+			});
+			a = chosen[0].points;
+			b = chosen[1].points;
+			ya = chosen[0].y;
+			dy = (long)chosen[1].y - ya;
+
+			tables = new IntCountTable[chosen.length - 2];
+			offsets = new long[chosen.length - 2];
+			for (int l = 2; l < chosen.length; l++) {
+				tables[l - 2] = chosen[l].table;
+				offsets[l - 2] = (long)chosen[l].y - ya;
+			}
+		}
+
+		/**
+		 * Counts the lines through the distinct values [from, to) of the first anchor level.
+		 */
+		long count(int from, int to) {
+			long count = 0;
+			for (int i = from; i < to; i++) {
+				long xa = a.value(i);
+				for (int j = 0; j < b.distinct(); j++) {
+					long dx = b.value(j) - xa;
+					long lines = (long)a.count(i) * b.count(j);
+					for (int l = 0; l < tables.length && lines != 0; l++) {
+						long x = crossing(xa, dx, offsets[l]);
+						lines = x == NO_CROSSING ? 0 : lines * tables[l].count((int)x);
+					}
+					count += lines;
+				}
+			}
+			return count;
+		}
+
+		/**
+		 * @return the x coordinate where the line through (xa, ya) and (xa + dx, ya + dy) crosses
+		 * the level 'offset' above ya, or NO_CROSSING if it isn't an integer that fits in an int.
+		 */
+		private long crossing(long xa, long dx, long offset) {
+			long x;
+			if (Math.abs(dx) < SAFE_FACTOR && Math.abs(offset) < SAFE_FACTOR) {
+				long num = dx * offset;
+				if (num % dy != 0) {
+					return NO_CROSSING;
+				}
+				x = xa + num / dy;
+			} else {
+				// The product may overflow a long, so fall back to arbitrary precision
+				BigInteger[] qr = BigInteger.valueOf(dx).multiply(BigInteger.valueOf(offset))
+						.divideAndRemainder(BigInteger.valueOf(dy));
+				if (qr[1].signum() != 0 || qr[0].bitLength() > 33) {
+					return NO_CROSSING;
+				}
+				x = xa + qr[0].longValue();
+			}
+			return x >= Integer.MIN_VALUE && x <= Integer.MAX_VALUE ? x : NO_CROSSING;
+		}
+	}
+
+	/**
+	 * Counts the lines for a range of distinct values of the first anchor level, each of which
+	 * is paired with every distinct value of the second.
+	 */
+	@SuppressWarnings("serial")
+	private static class AnchorTask extends RangeTask {
+		private final Query query;
+
+		AnchorTask(Query query, int parallelism) {
+			super(0, query.a.distinct(), query.b.distinct(), parallelism);
+			this.query = query;
+		}
+
+		private AnchorTask(AnchorTask parent, long from, long to) {
+			super(parent, from, to);
+			this.query = parent.query;
+		}
+
+		@Override
+		RangeTask subtask(long from, long to) {
+			return new AnchorTask(this, from, to);
+		}
+
+		@Override
+		long count(long from, long to) {
+			return query.count((int)from, (int)to);
+		}
+	}
+}
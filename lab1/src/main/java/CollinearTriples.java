@@ -0,0 +1,245 @@
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * This class enumerates the index triples (i, j, k) of the collinear points in three arrays, i.e.
+ * the triples counted by Collinear.countCollinear(a1,a2,a3), without ever holding them in memory.
+ * <p>
+ * The indices of a3 are sorted by value, and the sorted values are searched with an
+ * EytzingerArray. For each pair (i, j) the run of indices k with a3[k] = 2*a2[j] - a1[i] is then
+ * found with a single search, so enumerating the T triples takes N^2 log N + T rather than N^3.
+ * <p>
+ * The triples are produced through a Cursor, which (like a java.util.Spliterator) can be split
+ * into cursors over disjoint halves of the remaining pairs so that they can be consumed in
+ * parallel. a1 and a2 are not copied and must not be modified while triples are being enumerated.
+ *
+ * @author Jack O'Sullivan
+ * @version 09/10/18 10:14:52
+ */
+class CollinearTriples {
+	private final int[] a1, a2;
+	// values[r] = a3[positions[r]], in ascending order
+	private final int[] values;
+	private final int[] positions;
+	private final EytzingerArray search;
+
+	/**
+	 * Builds the index of a3. None of the arrays are modified.
+	 * <p>
+	 * Performance: N log N
+	 *
+	 * @param a1: An UNSORTED array of integers. Each integer a1[i] represents the point (a1[i], 1) on the plain.
+	 * @param a2: An UNSORTED array of integers. Each integer a2[i] represents the point (a2[i], 2) on the plain.
+	 * @param a3: An UNSORTED array of integers. Each integer a3[i] represents the point (a3[i], 3) on the plain.
+	 */
+	CollinearTriples(int[] a1, int[] a2, int[] a3) {
+		this.a1 = a1;
+		this.a2 = a2;
+
+		// Pack each value above its index, so that sorting orders by value and then by index
+		long[] packed = new long[a3.length];
+		for (int k = 0; k < a3.length; k++) {
+			packed[k] = (long)a3[k] << 32 | k;
+		}
+		Arrays.sort(packed);
+
+		values = new int[a3.length];
+		positions = new int[a3.length];
+		for (int r = 0; r < a3.length; r++) {
+			values[r] = (int)(packed[r] >> 32);
+			positions[r] = (int)packed[r];
+		}
+		search = new EytzingerArray(values);
+	}
+
+	/**
+	 * @return the number of pairs (i, j) to be searched, which the work of enumerating is proportional to.
+	 */
+	long pairs() {
+		return (long)a1.length * a2.length;
+	}
+
+	/**
+	 * @return a cursor over all of the triples, in order of i, then j, then k.
+	 */
+	Cursor cursor() {
+		return new Cursor(0, pairs());
+	}
+
+	/**
+	 * Passes every triple to an action, in order of i, then j, then k.
+	 * <p>
+	 * Performance: N^2 log N + T, where T is the number of triples
+	 */
+	void forEach(TripleConsumer action) {
+		cursor().forEachRemaining(action);
+	}
+
+	/**
+	 * Passes every triple to an action, using all available processors.
+	 */
+	void forEachParallel(TripleConsumer action) {
+		forEachParallel(action, -1);
+	}
+
+	/**
+	 * Passes every triple to an action, using multiple threads. The action is called concurrently
+	 * and in no particular order, so it must be thread-safe.
+	 * <p>
+	 * The range of pairs is split recursively into tasks on a ForkJoinPool, in the same way as
+	 * CollinearIndex.countParallel(), and each task enumerates its pairs with its own Cursor.
+	 * <p>
+	 * Performance: (N^2 log N + T) / P, where P is the parallelism
+	 *
+	 * @param action: The action to pass each triple to.
+	 * @param parallelism: The number of worker threads to use, or -1 to use all available processors.
+	 */
+	void forEachParallel(TripleConsumer action, int parallelism) {
+		if (parallelism == -1) {
+			parallelism = Runtime.getRuntime().availableProcessors();
+		} else if (parallelism < 1) {
+			throw new IllegalArgumentException("parallelism must be positive or -1");
+		}
+
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try {
+			pool.invoke(new ForEachTask(action, parallelism));
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Passes the triples of a range of pairs to an action. The count is always 0.
+	 */
+	@SuppressWarnings("serial")
+	private class ForEachTask extends RangeTask {
+		private final TripleConsumer action;
+
+		ForEachTask(TripleConsumer action, int parallelism) {
+			super(0, pairs(), 1, parallelism);
+			this.action = action;
+		}
+
+		private ForEachTask(ForEachTask parent, long from, long to) {
+			super(parent, from, to);
+			this.action = parent.action;
+		}
+
+		@Override
+		RangeTask subtask(long from, long to) {
+			return new ForEachTask(this, from, to);
+		}
+
+		@Override
+		long count(long from, long to) {
+			new Cursor(from, to).forEachRemaining(action);
+			return 0;
+		}
+	}
+
+	/**
+	 * A position in the enumeration of the triples: the next pair (i, j) to search, and the part
+	 * of the run of matching k for the current pair which hasn't been passed on yet.
+	 * <p>
+	 * A cursor is not thread-safe, but the cursors returned by trySplit() are independent of it.
+	 */
+	class Cursor {
+		// The next pair to search, as i * a2.length + j
+		private long pair, end;
+		private int i, j;
+		// The remaining indices into values/positions of the triples of the last pair searched
+		private int run, runEnd;
+		private int runI, runJ;
+
+		private Cursor(long pair, long end) {
+			this.pair = pair;
+			this.end = end;
+			if (pair < end) {
+				i = (int)(pair / a2.length);
+				j = (int)(pair % a2.length);
+			}
+		}
+
+		/**
+		 * Searches pairs until one with a matching k is found.
+		 *
+		 * @return false if there are no pairs left.
+		 */
+		private boolean findRun() {
+			while (run == runEnd) {
+				if (pair == end) {
+					return false;
+				}
+
+				// x3 = 2*x2 - x1, see Collinear.countCollinearFast()
+				int x3 = 2*a2[j] - a1[i];
+				run = search.rank(x3);
+				runEnd = run;
+				while (runEnd < values.length && values[runEnd] == x3) {
+					runEnd++;
+				}
+				runI = i;
+				runJ = j;
+
+				pair++;
+				if (++j == a2.length) {
+					j = 0;
+					i++;
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * Passes the next triple to an action.
+		 * <p>
+		 * Performance: log N (amortised, per pair searched)
+		 *
+		 * @return false if there were no triples left.
+		 */
+		boolean tryAdvance(TripleConsumer action) {
+			if (!findRun()) {
+				return false;
+			}
+			action.accept(runI, runJ, positions[run++]);
+			return true;
+		}
+
+		/**
+		 * Passes all of the remaining triples to an action.
+		 */
+		void forEachRemaining(TripleConsumer action) {
+			while (findRun()) {
+				for (; run < runEnd; run++) {
+					action.accept(runI, runJ, positions[run]);
+				}
+			}
+		}
+
+		/**
+		 * Splits off the second half of the pairs which haven't been searched yet.
+		 * <p>
+		 * Performance: 1
+		 *
+		 * @return a cursor over the split off pairs, or null if there are fewer than 2 pairs left.
+		 */
+		Cursor trySplit() {
+			long remaining = end - pair;
+			if (remaining < 2) {
+				return null;
+			}
+			long mid = pair + remaining / 2;
+			Cursor split = new Cursor(mid, end);
+			end = mid;
+			return split;
+		}
+
+		/**
+		 * @return the number of pairs which haven't been searched yet, which the remaining work is proportional to.
+		 */
+		long estimateSize() {
+			return end - pair;
+		}
+	}
+}
@@ -0,0 +1,91 @@
+/**
+ * This class holds a run-length compressed copy of an array of integers: the distinct values
+ * in ascending order, together with the number of times each of them appears.
+ * <p>
+ * For duplicate-heavy input the counting algorithms in Collinear can then work with the
+ * number of distinct values D rather than the number of elements N.
+ *
+ * @author Jack O'Sullivan
+ * @version 25/09/18 10:05:52
+ */
+class CompressedInts {
+	private final int[] values;
+	private final int[] counts;
+	private final int distinct;
+	private final long total;
+
+	private CompressedInts(int[] values, int[] counts, int distinct, long total) {
+		this.values = values;
+		this.counts = counts;
+		this.distinct = distinct;
+		this.total = total;
+	}
+
+	/**
+	 * Compresses an array of integers. The array is not modified.
+	 * <p>
+	 * Performance: N
+	 * <p>
+	 * Explanation: A copy of the array is sorted with Collinear.radixSort(), after which the runs of equal values are
+	 * collapsed in a single linear pass.
+	 *
+	 * @param a: An UNSORTED array of integers.
+	 * @return the distinct values of 'a' with their multiplicities.
+	 */
+	static CompressedInts of(int[] a) {
+		int[] sorted = a.clone();
+		Collinear.radixSort(sorted);
+
+		// The distinct values are collapsed into the front of the sorted copy
+		int[] counts = new int[sorted.length];
+		int distinct = 0;
+		for (int i = 0; i < sorted.length; i++) {
+			if (distinct > 0 && sorted[distinct - 1] == sorted[i]) {
+				counts[distinct - 1]++;
+			} else {
+				sorted[distinct] = sorted[i];
+				counts[distinct++] = 1;
+			}
+		}
+		return new CompressedInts(sorted, counts, distinct, a.length);
+	}
+
+	/**
+	 * @return the number of distinct values.
+	 */
+	int distinct() {
+		return distinct;
+	}
+
+	/**
+	 * @return the number of elements in the original array.
+	 */
+	long total() {
+		return total;
+	}
+
+	/**
+	 * @return the i'th smallest distinct value.
+	 */
+	int value(int i) {
+		return values[i];
+	}
+
+	/**
+	 * @return the number of times value(i) appeared in the original array.
+	 */
+	int count(int i) {
+		return counts[i];
+	}
+
+	/**
+	 * @return a hash table of the multiplicity of each value.
+	 */
+	IntCountTable toTable() {
+		IntCountTable table = new IntCountTable(distinct);
+		for (int i = 0; i < distinct; i++) {
+			table.add(values[i], counts[i]);
+		}
+		return table;
+	}
+}
@@ -0,0 +1,153 @@
+/**
+ * This class computes the exact convolution of two arrays of non-negative integers
+ * (e.g. frequency histograms) using the Number Theoretic Transform.
+ * <p>
+ * The convolution is computed modulo three NTT-friendly primes and the results are combined
+ * with the Chinese Remainder Theorem (Garner's algorithm). Since the product of the primes is
+ * ~2^86, every entry of the result is exact as long as it fits in a (non-negative) long, which
+ * always holds when the sum of each input is at most 2^31.
+ *
+ * @author Jack O'Sullivan
+ * @version 22/09/18 11:47:36
+ */
+class Convolution {
+	// Each prime is c * 2^k + 1, with 3 as a primitive root
+	private static final long[] PRIMES = { 998244353, 167772161, 469762049 };
+	private static final long ROOT = 3;
+
+	/**
+	 * The maximum length of a result, limited by the largest power of two dividing 998244353 - 1.
+	 */
+	static final int MAX_LENGTH = 1 << 23;
+
+	/**
+	 * Convolves two arrays, i.e. computes c[k] = sum over i + j = k of a[i] * b[j].
+	 *
+	 * @param a: An array of non-negative integers.
+	 * @param b: An array of non-negative integers.
+	 * @return the convolution of 'a' and 'b', of length a.length + b.length - 1 (or 0 if either is empty).
+	 * <p>
+	 * ----------------------------------------------------------
+	 * <p>
+	 * Performance: R log R, where R = a.length + b.length
+	 * <p>
+	 * Explanation: A constant number (9) of transforms of size ~R, each of which takes R log R.
+	 */
+	static long[] convolve(int[] a, int[] b) {
+		if (a.length == 0 || b.length == 0) {
+			return new long[0];
+		}
+		int length = a.length + b.length - 1;
+		if (length > MAX_LENGTH) {
+			throw new IllegalArgumentException("Convolution of length " + length + " is too large");
+		}
+
+		int n = Integer.highestOneBit(length);
+		if (n < length) {
+			n <<= 1;
+		}
+
+		long[][] residues = new long[PRIMES.length][];
+		for (int p = 0; p < PRIMES.length; p++) {
+			residues[p] = convolveMod(a, b, n, PRIMES[p]);
+		}
+
+		long p0 = PRIMES[0], p1 = PRIMES[1], p2 = PRIMES[2];
+		long inv01 = modPow(p0 % p1, p1 - 2, p1);
+		long p01 = p0 * p1;
+		long inv012 = modPow(p01 % p2, p2 - 2, p2);
+
+		long[] result = new long[length];
+		for (int i = 0; i < length; i++) {
+			long r0 = residues[0][i], r1 = residues[1][i], r2 = residues[2][i];
+			// x = r0 + p0 * t1 is the unique solution mod p0*p1
+			long t1 = (r1 - r0 % p1 + p1) % p1 * inv01 % p1;
+			long x = r0 + p0 * t1;
+			// x + p0*p1 * t2 is the unique solution mod p0*p1*p2
+			long t2 = (r2 - x % p2 + p2) % p2 * inv012 % p2;
+			result[i] = x + p01 * t2;
+		}
+		return result;
+	}
+
+	private static long[] convolveMod(int[] a, int[] b, int n, long mod) {
+		long[] fa = new long[n];
+		long[] fb = new long[n];
+		for (int i = 0; i < a.length; i++) {
+			fa[i] = a[i] % mod;
+		}
+		for (int i = 0; i < b.length; i++) {
+			fb[i] = b[i] % mod;
+		}
+
+		transform(fa, mod, false);
+		transform(fb, mod, false);
+		for (int i = 0; i < n; i++) {
+			fa[i] = fa[i] * fb[i] % mod;
+		}
+		transform(fa, mod, true);
+		return fa;
+	}
+
+	/**
+	 * In-place iterative radix-2 NTT (or inverse NTT) of an array whose length is a power of two.
+	 */
+	private static void transform(long[] a, long mod, boolean inverse) {
+		int n = a.length;
+
+		// Bit-reversal permutation
+		for (int i = 1, j = 0; i < n; i++) {
+			int bit = n >> 1;
+			for (; (j & bit) != 0; bit >>= 1) {
+				j ^= bit;
+			}
+			j ^= bit;
+			if (i < j) {
+				long tmp = a[i];
+				a[i] = a[j];
+				a[j] = tmp;
+			}
+		}
+
+		long[] w = new long[n / 2 + 1];
+		for (int len = 2; len <= n; len <<= 1) {
+			long step = modPow(ROOT, (mod - 1) / len, mod);
+			if (inverse) {
+				step = modPow(step, mod - 2, mod);
+			}
+			int half = len / 2;
+			w[0] = 1;
+			for (int k = 1; k < half; k++) {
+				w[k] = w[k - 1] * step % mod;
+			}
+
+			for (int i = 0; i < n; i += len) {
+				for (int k = 0; k < half; k++) {
+					long u = a[i + k];
+					long v = a[i + k + half] * w[k] % mod;
+					a[i + k] = u + v < mod ? u + v : u + v - mod;
+					a[i + k + half] = u - v >= 0 ? u - v : u - v + mod;
+				}
+			}
+		}
+
+		if (inverse) {
+			long nInv = modPow(n, mod - 2, mod);
+			for (int i = 0; i < n; i++) {
+				a[i] = a[i] * nInv % mod;
+			}
+		}
+	}
+
+	private static long modPow(long base, long exp, long mod) {
+		long result = 1;
+		base %= mod;
+		for (; exp > 0; exp >>= 1) {
+			if ((exp & 1) != 0) {
+				result = result * base % mod;
+			}
+			base = base * base % mod;
+		}
+		return result;
+	}
+}
@@ -0,0 +1,130 @@
+/**
+ * This class holds a sorted array of integers in Eytzinger (breadth-first) order for fast
+ * searching.
+ * <p>
+ * Element 1 is the root of an implicit binary search tree, and the children of element k are
+ * elements 2k and 2k+1. A search therefore always moves forward through the array, the first few
+ * levels (which every search visits) stay in cache, and the 16 possible positions four levels
+ * below any element are contiguous, so they share one or two cache lines which can be fetched
+ * ahead of the search. With a plain sorted array, every level of a binary search is a cache miss
+ * once the array is much larger than the cache.
+ * <p>
+ * The loop in lowerBound() has no unpredictable branches: the comparison result is added to the
+ * index instead of being branched on.
+ *
+ * @author Jack O'Sullivan
+ * @version 01/10/18 20:51:17
+ */
+class EytzingerArray {
+	// 1-based, tree[0] is unused
+	private final int[] tree;
+	// rank[k] is the index of tree[k] in the sorted array, rank[0] is the length of the array
+	private final int[] rank;
+
+	/**
+	 * Builds the Eytzinger layout of a sorted array. The array is not modified.
+	 * <p>
+	 * Performance: N
+	 *
+	 * @param sorted: A array of integers SORTED in ascending order.
+	 */
+	EytzingerArray(int[] sorted) {
+		tree = new int[sorted.length + 1];
+		rank = new int[sorted.length + 1];
+		rank[0] = sorted.length;
+		build(sorted, 0, 1);
+	}
+
+	/**
+	 * Fills the subtree rooted at k with an in-order traversal of 'sorted' from index i.
+	 *
+	 * @return the next index of 'sorted' to be used.
+	 */
+	private int build(int[] sorted, int i, int k) {
+		// The depth of the tree is only log N, so recursion is safe here
+		if (k < tree.length) {
+			i = build(sorted, i, 2 * k);
+			tree[k] = sorted[i];
+			rank[k] = i++;
+			i = build(sorted, i, 2 * k + 1);
+		}
+		return i;
+	}
+
+	/**
+	 * @return the number of elements in the array.
+	 */
+	int length() {
+		return rank[0];
+	}
+
+	/**
+	 * Finds the position in the tree of the smallest element >= x.
+	 * <p>
+	 * Performance: log N
+	 *
+	 * @return the position, or 0 if every element is smaller than x.
+	 */
+	private int lowerBound(int x) {
+		int[] t = tree;
+		int last = t.length - 1;
+		int k = 1;
+		int ahead = 0;
+		while (k <= last) {
+			// Java has no prefetch instruction, so instead touch the first of the 16 elements where
+			// the search will be in 4 iterations, which starts loading that cache line early
+			ahead |= t[Math.min(k, last >>> 4) << 4];
+			k = 2 * k + (t[k] < x ? 1 : 0);
+		}
+
+		// The path went right (and each 1 bit was appended) after every element smaller than x;
+		// the lower bound is where it last went left, found by stripping the trailing 1s and the 0
+		k >>>= Integer.numberOfTrailingZeros(~k) + 1;
+
+		// Never true, but it uses the prefetching loads so that they can't be optimised away
+		if (ahead == x && k > last) {
+			return -1;
+		}
+		return k;
+	}
+
+	/**
+	 * Searches for an integer in the array.
+	 * <p>
+	 * Performance: log N
+	 *
+	 * @param x: An integer.
+	 * @return true if 'x' is contained in the array; false otherwise.
+	 */
+	boolean contains(int x) {
+		int k = lowerBound(x);
+		return k != 0 && tree[k] == x;
+	}
+
+	/**
+	 * Performance: log N
+	 *
+	 * @param x: An integer.
+	 * @return the number of elements smaller than 'x', i.e. the index in the sorted array of the first element >= 'x'.
+	 */
+	int rank(int x) {
+		return rank[lowerBound(x)];
+	}
+
+	/**
+	 * Counts the occurrences of an integer in the array.
+	 * <p>
+	 * Performance: log N
+	 *
+	 * @param x: An integer.
+	 * @return the number of elements equal to 'x'.
+	 */
+	int count(int x) {
+		int first = lowerBound(x);
+		if (first == 0 || tree[first] != x) {
+			return 0;
+		}
+		int end = x == Integer.MAX_VALUE ? 0 : lowerBound(x + 1);
+		return rank[end] - rank[first];
+	}
+}
@@ -0,0 +1,227 @@
+/**
+ * This class implements a multiset of integers as an open-addressing hash table
+ * mapping each distinct integer to the number of times it has been added.
+ * <p>
+ * Keys and counts are stored in parallel primitive arrays, so no boxing takes
+ * place on any operation. Collisions are resolved with linear probing, and
+ * removal uses backward-shift deletion so that no tombstones are needed.
+ * <p>
+ * The table doubles when it becomes half full and shrinks when it falls below 1/8
+ * full, so the number of slots is always O(distinct()) (or MIN_CAPACITY), even
+ * after many keys have been added and removed again.
+ *
+ * @author Jack O'Sullivan
+ * @version 20/09/18 14:02:11
+ */
+class IntCountTable {
+	private static final int MIN_CAPACITY = 16;
+
+	private int[] keys;
+	private int[] counts; // a count of 0 marks an empty slot
+	private int mask;
+	private int distinct;
+	private long total;
+
+	/**
+	 * Creates an empty table sized to hold at least the given number of distinct keys
+	 * without resizing.
+	 *
+	 * @param expected: The expected number of distinct keys.
+	 */
+	IntCountTable(int expected) {
+		// Keep the load factor at or below 1/2
+		int capacity = MIN_CAPACITY;
+		while (capacity < expected * 2L && capacity < (1 << 30)) {
+			capacity <<= 1;
+		}
+		allocate(capacity);
+	}
+
+	/**
+	 * Creates a table holding the multiplicity of every element of an array.
+	 *
+	 * @param a: An array of integers.
+	 * @return a table where count(x) is the number of times x appears in 'a'.
+	 */
+	static IntCountTable of(int[] a) {
+		IntCountTable table = new IntCountTable(a.length);
+		for (int x : a) {
+			table.add(x);
+		}
+		return table;
+	}
+
+	private void allocate(int capacity) {
+		keys = new int[capacity];
+		counts = new int[capacity];
+		mask = capacity - 1;
+	}
+
+	/**
+	 * Scrambles the bits of a key so that clustered keys (e.g. small consecutive
+	 * integers) are spread evenly over the table.
+	 */
+	private static int slotOf(int key, int mask) {
+		int h = key * 0x9E3779B9;
+		return (h ^ (h >>> 16)) & mask;
+	}
+
+	/**
+	 * Performance: 1 (expected)
+	 *
+	 * @return the number of times 'key' has been added (and not removed).
+	 */
+	int count(int key) {
+		for (int i = slotOf(key, mask); counts[i] != 0; i = (i + 1) & mask) {
+			if (keys[i] == key) {
+				return counts[i];
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Adds one occurrence of a key.
+	 * <p>
+	 * Performance: 1 (amortized expected)
+	 */
+	void add(int key) {
+		add(key, 1);
+	}
+
+	/**
+	 * Adds a number of occurrences of a key.
+	 * <p>
+	 * Performance: 1 (amortized expected)
+	 *
+	 * @param key: The key.
+	 * @param n: The number of occurrences to add, must be positive.
+	 * @return the new count of the key.
+	 */
+	int add(int key, int n) {
+		int i = slotOf(key, mask);
+		while (counts[i] != 0) {
+			if (keys[i] == key) {
+				counts[i] += n;
+				total += n;
+				return counts[i];
+			}
+			i = (i + 1) & mask;
+		}
+
+		keys[i] = key;
+		counts[i] = n;
+		total += n;
+		if (++distinct * 2 > keys.length) {
+			resize(keys.length * 2);
+		}
+		return n;
+	}
+
+	/**
+	 * Removes one occurrence of a key.
+	 * <p>
+	 * Performance: 1 (amortized expected)
+	 *
+	 * @return true if an occurrence was removed; false if the key was not present.
+	 */
+	boolean remove(int key) {
+		int i = slotOf(key, mask);
+		while (counts[i] != 0 && keys[i] != key) {
+			i = (i + 1) & mask;
+		}
+		if (counts[i] == 0) {
+			return false;
+		}
+
+		total--;
+		if (--counts[i] > 0) {
+			return true;
+		}
+
+		// Shift back any following entries of the probe run which would otherwise
+		// become unreachable through the new hole
+		distinct--;
+		int hole = i;
+		for (int j = (i + 1) & mask; counts[j] != 0; j = (j + 1) & mask) {
+			int home = slotOf(keys[j], mask);
+			if (((j - home) & mask) >= ((j - hole) & mask)) {
+				keys[hole] = keys[j];
+				counts[hole] = counts[j];
+				counts[j] = 0;
+				hole = j;
+			}
+		}
+
+		if (distinct * 8 < keys.length && keys.length > MIN_CAPACITY) {
+			// Shrink straight to a load of at most 1/4, so that the next shrink is at least
+			// distinct() removals away and the cost of resizing is amortized over them
+			int capacity = MIN_CAPACITY;
+			while (capacity < distinct * 4L) {
+				capacity <<= 1;
+			}
+			resize(capacity);
+		}
+		return true;
+	}
+
+	private void resize(int capacity) {
+		int[] oldKeys = keys;
+		int[] oldCounts = counts;
+		allocate(capacity);
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldCounts[i] != 0) {
+				int j = slotOf(oldKeys[i], mask);
+				while (counts[j] != 0) {
+					j = (j + 1) & mask;
+				}
+				keys[j] = oldKeys[i];
+				counts[j] = oldCounts[i];
+			}
+		}
+	}
+
+	/**
+	 * @return the number of distinct keys in the table.
+	 */
+	int distinct() {
+		return distinct;
+	}
+
+	/**
+	 * @return the total number of occurrences of all keys in the table.
+	 */
+	long total() {
+		return total;
+	}
+
+	/**
+	 * The following three methods allow the occupied slots of the table to be
+	 * iterated over without allocating, e.g.
+	 * <pre>
+	 * for (int s = 0; s &lt; t.slots(); s++) {
+	 *     if (t.countAt(s) != 0) { ... t.keyAt(s) ... }
+	 * }
+	 * </pre>
+	 *
+	 * @return the number of slots in the table. After a removal, this is at most
+	 * max(MIN_CAPACITY, 8 * distinct()).
+	 */
+	int slots() {
+		return keys.length;
+	}
+
+	/**
+	 * @return the key in slot 's'; only meaningful if countAt(s) != 0.
+	 */
+	int keyAt(int s) {
+		return keys[s];
+	}
+
+	/**
+	 * @return the count in slot 's', 0 if the slot is empty.
+	 */
+	int countAt(int s) {
+		return counts[s];
+	}
+}
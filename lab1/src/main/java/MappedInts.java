@@ -0,0 +1,158 @@
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This class gives read-only access to a file of little-endian 32-bit integers (e.g. the x
+ * coordinates of the points on one line for Collinear) by memory-mapping it, so that files much
+ * larger than the heap can be processed.
+ * <p>
+ * A single mapping is limited to 2GB, so the file is mapped as a sequence of chunks. The data is
+ * read by copying it into a caller-supplied buffer with read(), which hides the chunk boundaries.
+ * The pages of the file are loaded by the operating system as they are read and can be evicted
+ * again at any time, so they don't count towards the heap.
+ *
+ * @author Jack O'Sullivan
+ * @version 07/10/18 14:26:09
+ */
+class MappedInts implements Closeable {
+	/**
+	 * The default number of integers in each mapped chunk (1GB).
+	 */
+	static final int CHUNK_INTS = 1 << 28;
+
+	private final FileChannel channel;
+	private final long length;
+	private final int chunkInts;
+	private IntBuffer[] chunks;
+
+	private MappedInts(FileChannel channel, int chunkInts) throws IOException {
+		long bytes = channel.size();
+		if (bytes % 4 != 0) {
+			throw new IOException("File size " + bytes + " is not a multiple of 4 bytes");
+		}
+
+		this.channel = channel;
+		this.length = bytes / 4;
+		this.chunkInts = chunkInts;
+		chunks = new IntBuffer[(int)((length + chunkInts - 1) / chunkInts)];
+		for (int c = 0; c < chunks.length; c++) {
+			long start = (long)c * chunkInts;
+			long size = Math.min(chunkInts, length - start);
+			chunks[c] = channel.map(FileChannel.MapMode.READ_ONLY, start * 4, size * 4)
+					.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+		}
+	}
+
+	/**
+	 * Maps a file of little-endian integers.
+	 *
+	 * @param file: The file, whose size must be a multiple of 4 bytes.
+	 * @return the mapped integers, which should be closed when no longer needed.
+	 * @throws IOException if the file can't be opened or its size isn't a multiple of 4 bytes.
+	 */
+	static MappedInts open(File file) throws IOException {
+		return open(file, CHUNK_INTS);
+	}
+
+	/**
+	 * Maps a file of little-endian integers in chunks of the given number of integers.
+	 */
+	static MappedInts open(File file, int chunkInts) throws IOException {
+		if (chunkInts < 1) {
+			throw new IllegalArgumentException("chunkInts must be positive");
+		}
+		FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+		try {
+			return new MappedInts(channel, chunkInts);
+		} catch (IOException ex) {
+			channel.close();
+			throw ex;
+		}
+	}
+
+	/**
+	 * Writes an array of integers to a file in the format read by open().
+	 *
+	 * @param file: The file, which is overwritten if it exists.
+	 * @param a: An array of integers.
+	 * @throws IOException if the file can't be written.
+	 */
+	static void write(File file, int[] a) throws IOException {
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+			for (int x : a) {
+				out.writeInt(Integer.reverseBytes(x));
+			}
+		}
+	}
+
+	/**
+	 * @return the number of integers in the file.
+	 */
+	long length() {
+		return length;
+	}
+
+	/**
+	 * Performance: 1
+	 *
+	 * @return the integer at index i.
+	 */
+	int get(long i) {
+		if (i < 0 || i >= length) {
+			throw new IndexOutOfBoundsException("Index " + i + " out of bounds for length " + length);
+		}
+		return chunks()[(int)(i / chunkInts)].get((int)(i % chunkInts));
+	}
+
+	/**
+	 * Copies integers from the file into an array.
+	 * <p>
+	 * Performance: N, where N is the number of integers copied
+	 *
+	 * @param from: The index of the first integer to copy.
+	 * @param dst: The array to copy into, from index 0.
+	 * @return the number of integers copied, which is dst.length unless the end of the file was reached.
+	 */
+	int read(long from, int[] dst) {
+		if (from < 0 || from > length) {
+			throw new IndexOutOfBoundsException("Index " + from + " out of bounds for length " + length);
+		}
+		IntBuffer[] chunks = chunks();
+		int copied = 0;
+		while (copied < dst.length && from < length) {
+			// Absolute bulk reads aren't available before Java 13, so read from a duplicate instead
+			IntBuffer chunk = chunks[(int)(from / chunkInts)].duplicate();
+			chunk.position((int)(from % chunkInts));
+			int n = Math.min(dst.length - copied, chunk.remaining());
+			chunk.get(dst, copied, n);
+			copied += n;
+			from += n;
+		}
+		return copied;
+	}
+
+	private IntBuffer[] chunks() {
+		if (chunks == null) {
+			throw new IllegalStateException("Closed");
+		}
+		return chunks;
+	}
+
+	/**
+	 * Closes the file. The mappings themselves are released once they have been garbage collected,
+	 * since Java has no way to unmap a file explicitly.
+	 */
+	@Override
+	public void close() throws IOException {
+		chunks = null;
+		channel.close();
+	}
+}
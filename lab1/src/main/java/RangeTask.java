@@ -0,0 +1,83 @@
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * A task on a ForkJoinPool which sums a count over a range of indices [from, to), such as the
+ * indices into a1 whose pairs are counted by CollinearIndex.countParallel().
+ * <p>
+ * The range is split in half (and the upper half forked) while it is larger than the target task
+ * size, or while other threads have run out of queued work to steal, as long as the work left is
+ * worth splitting at all. The tasks forked by the same parent are linked so that they can be
+ * joined without a separate list.
+ *
+ * @author Jack O'Sullivan
+ * @version 18/10/18 14:05:12
+ */
+// Tasks are never serialized, so their fields needn't be serializable either
+@SuppressWarnings("serial")
+abstract class RangeTask extends RecursiveTask<Long> {
+	// Minimum number of pairs for a task to be worth splitting at all
+	static final long MIN_PAIRS = 1 << 14;
+
+	private final long from, to;
+	// The number of pairs (or other units of work) per index
+	private final long width;
+	private final long targetSize;
+	private RangeTask nextFork;
+
+	/**
+	 * Creates the task for a whole range.
+	 *
+	 * @param from: The first index of the range.
+	 * @param to: The index after the last index of the range.
+	 * @param width: The number of pairs (or other units of work) per index.
+	 * @param parallelism: The number of threads the range will be split between.
+	 */
+	RangeTask(long from, long to, long width, int parallelism) {
+		this.from = from;
+		this.to = to;
+		this.width = width;
+		// Aim for ~8 tasks per thread to even out the load
+		this.targetSize = Math.max(1, (to - from) / (parallelism * 8));
+	}
+
+	/**
+	 * Creates a task for part of the range of another task.
+	 */
+	RangeTask(RangeTask parent, long from, long to) {
+		this.from = from;
+		this.to = to;
+		this.width = parent.width;
+		this.targetSize = parent.targetSize;
+	}
+
+	/**
+	 * @return a task for part of this task's range, created with RangeTask(this, from, to).
+	 */
+	abstract RangeTask subtask(long from, long to);
+
+	/**
+	 * Counts over a range of indices on the current thread.
+	 */
+	abstract long count(long from, long to);
+
+	@Override
+	protected final Long compute() {
+		long lo = from, hi = to;
+		RangeTask forked = null;
+		while (hi - lo > 1 && (hi - lo) * width > MIN_PAIRS
+				&& (hi - lo > targetSize || getSurplusQueuedTaskCount() == 0)) {
+			long mid = (lo + hi) >>> 1;
+			RangeTask upper = subtask(mid, hi);
+			upper.nextFork = forked;
+			forked = upper;
+			upper.fork();
+			hi = mid;
+		}
+
+		long count = count(lo, hi);
+		for (; forked != null; forked = forked.nextFork) {
+			count += forked.join();
+		}
+		return count;
+	}
+}
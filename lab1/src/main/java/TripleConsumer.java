@@ -0,0 +1,13 @@
+/**
+ * This interface receives the collinear triples enumerated by CollinearTriples, one call per
+ * triple, so that they never have to be collected in memory.
+ *
+ * @author Jack O'Sullivan
+ * @version 09/10/18 10:14:52
+ */
+interface TripleConsumer {
+	/**
+	 * Accepts the triple of points (a1[i], 1), (a2[j], 2), (a3[k], 3), which are collinear.
+	 */
+	void accept(int i, int j, int k);
+}
@@ -0,0 +1,131 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Test class for CollinearCounter.java
+ *
+ * @author Jack O'Sullivan
+ * @version 24/09/18 16:40:12
+ */
+@RunWith(JUnit4.class)
+public class CollinearCounterTest {
+	private static int[] toArray(List<Integer> list) {
+		int[] a = new int[list.size()];
+		for (int i = 0; i < a.length; i++) {
+			a[i] = list.get(i);
+		}
+		return a;
+	}
+
+	@Test
+	public void testEmpty() {
+		CollinearCounter counter = new CollinearCounter();
+		assertEquals(0, counter.count());
+		assertFalse("remove() of a missing point", counter.remove(1, 5));
+		assertEquals(0, counter.size(1));
+	}
+
+	/**
+	 * Check the count when constructed from arrays
+	 */
+	@Test
+	public void testFromArrays() {
+		CollinearCounter counter = new CollinearCounter(new int[] {10, -4, 2, 123}, new int[] {887, 4, 20, -8}, new int[] {6, 30, 103, -12});
+		assertEquals(3, counter.count());
+
+		assertTrue(counter.remove(2, 4));
+		assertEquals(2, counter.count());
+		counter.add(2, 4);
+		counter.add(3, 6);
+		assertEquals(4, counter.count());
+		assertEquals(5, counter.size(3));
+	}
+
+	/**
+	 * Compare against the brute force implementation after every update in a random sequence
+	 * of additions and removals (including duplicate points)
+	 */
+	@Test
+	public void testRandomUpdates() {
+		Random rand = new Random(2014);
+		CollinearCounter counter = new CollinearCounter();
+		List<List<Integer>> points = new ArrayList<>();
+		for (int l = 0; l < 3; l++) {
+			points.add(new ArrayList<Integer>());
+		}
+
+		for (int update = 0; update < 2000; update++) {
+			int line = 1 + rand.nextInt(3);
+			List<Integer> onLine = points.get(line - 1);
+			if (!onLine.isEmpty() && rand.nextInt(3) == 0) {
+				Integer x = onLine.remove(rand.nextInt(onLine.size()));
+				assertTrue("remove() of an existing point", counter.remove(line, x));
+			} else {
+				int x = rand.nextInt(41) - 20;
+				onLine.add(x);
+				counter.add(line, x);
+			}
+
+			if (update % 50 == 0) {
+				int expected = Collinear.countCollinear(toArray(points.get(0)), toArray(points.get(1)), toArray(points.get(2)));
+				assertEquals("count() after " + update + " updates", expected, counter.count());
+			}
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidLine() {
+		new CollinearCounter().add(4, 0);
+	}
+
+	/**
+	 * After a burst of additions is removed again, the tables iterated over by each update
+	 * shrink back to the number of distinct values which remain
+	 */
+	@Test
+	public void testTableShrinksAfterRemovals() {
+		IntCountTable table = new IntCountTable(16);
+		for (int x = 0; x < 100000; x++) {
+			table.add(x);
+			table.add(x);
+		}
+		for (int x = 0; x < 100000; x++) {
+			assertTrue(table.remove(x));
+			if (x % 100 != 0) {
+				assertTrue(table.remove(x));
+			}
+		}
+		assertEquals(1000, table.distinct());
+		assertEquals(1000, table.total());
+		assertTrue("slots() after shrinking: " + table.slots(), table.slots() <= 8 * table.distinct());
+		for (int x = 0; x < 100000; x++) {
+			assertEquals(x % 100 == 0 ? 1 : 0, table.count(x));
+		}
+
+		for (int x = 0; x < 100000; x += 100) {
+			assertTrue(table.remove(x));
+		}
+		assertEquals(16, table.slots());
+
+		CollinearCounter counter = new CollinearCounter();
+		for (int x = 0; x < 100000; x++) {
+			counter.add(2, x);
+		}
+		for (int x = 0; x < 100000; x++) {
+			counter.remove(2, x);
+		}
+		counter.add(2, 5);
+		counter.add(1, 4);
+		counter.add(3, 6);
+		assertEquals(1, counter.count());
+	}
+}
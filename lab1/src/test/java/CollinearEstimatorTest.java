@@ -0,0 +1,155 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.Random;
+
+/**
+ * Test class for CollinearEstimator.java
+ *
+ * @author Jack O'Sullivan
+ * @version 11/10/18 17:05:48
+ */
+@RunWith(JUnit4.class)
+public class CollinearEstimatorTest {
+	private static int[] randomArray(Random rand, int n, int range) {
+		int[] a = new int[n];
+		for (int i = 0; i < n; i++) {
+			a[i] = rand.nextInt(2 * range + 1) - range;
+		}
+		return a;
+	}
+
+	/**
+	 * When more samples are needed than there are pairs, the count is exact
+	 */
+	@Test
+	public void testExact() {
+		int[] a1 = {10, -4, 2, 123};
+		int[] a2 = {887, 4, 20, -8};
+		int[] a3 = {6, 30, 103, -12};
+		CollinearEstimator estimator = Collinear.estimateCollinear(a1, a2, a3, 0.01, 0.05, new Random(1));
+		assertTrue(estimator.isExact());
+		assertEquals(3, estimator.estimate(), 0);
+		assertEquals(0, estimator.halfWidth(0.05), 0);
+		assertEquals(3, estimator.lower(0.05), 0);
+		assertEquals(3, estimator.upper(0.05), 0);
+		// The choice of pairs can't affect an exact count, so the unseeded estimate is reproducible too
+		assertEquals(3, Collinear.estimateCollinear(a1, a2, a3, 0.01, 0.05).estimate(), 0);
+
+		estimator = Collinear.estimateCollinear(a1, a2, new int[0], 0.01, 0.05, new Random(1));
+		assertTrue(estimator.isExact());
+		assertEquals(0, estimator.estimate(), 0);
+	}
+
+	/**
+	 * The interval should contain the exact count (it may fail with probability delta, but the
+	 * seeds are fixed and Hoeffding's bound is loose)
+	 */
+	@Test
+	public void testInterval() {
+		Random rand = new Random(15);
+		int n = 3000;
+		int[] a1 = randomArray(rand, n, n), a2 = randomArray(rand, n, n), a3 = randomArray(rand, n, n);
+		long count = Collinear.countCollinearHash(a1, a2, a3);
+		CollinearIndex index = CollinearIndex.hashed(a3);
+
+		for (int seed = 0; seed < 10; seed++) {
+			CollinearEstimator estimator = new CollinearEstimator(a1, a2, index, new Random(seed));
+			long needed = estimator.samplesNeeded(0.02, 0.01);
+			assertTrue("Sublinear in the number of pairs", needed < (long)n * n / 10);
+
+			estimator.sample(needed);
+			assertFalse(estimator.isExact());
+			assertEquals(needed, estimator.samples());
+			assertTrue(estimator.halfWidth(0.01) <= 0.02 * n * n);
+			assertTrue(estimator.lower(0.01) <= count);
+			assertTrue(estimator.upper(0.01) >= count);
+			assertEquals(count, estimator.estimate(), estimator.halfWidth(0.01));
+		}
+	}
+
+	/**
+	 * The bound holds at every number of samples at once, so the intervals can be checked after
+	 * every round of sampling, and the estimate is reproducible with a seeded Random
+	 */
+	@Test
+	public void testAnytime() {
+		Random rand = new Random(18);
+		int n = 1000;
+		int[] a1 = randomArray(rand, n, 200), a2 = randomArray(rand, n, 200), a3 = randomArray(rand, n, 200);
+		long count = Collinear.countCollinearHash(a1, a2, a3);
+		CollinearIndex index = CollinearIndex.hashed(a3);
+
+		for (int seed = 0; seed < 10; seed++) {
+			CollinearEstimator estimator = new CollinearEstimator(a1, a2, index, new Random(seed));
+			for (int round = 0; round < 200; round++) {
+				estimator.sample(1 + round);
+				assertTrue(estimator.lower(0.05) <= count);
+				assertTrue(estimator.upper(0.05) >= count);
+			}
+		}
+
+		CollinearEstimator first = Collinear.estimateCollinear(a1, a2, a3, 0.1, 0.05, new Random(19));
+		CollinearEstimator second = Collinear.estimateCollinear(a1, a2, a3, 0.1, 0.05, new Random(19));
+		assertFalse(first.isExact());
+		assertEquals(first.samples(), second.samples());
+		assertEquals(first.estimate(), second.estimate(), 0);
+		assertTrue(first.halfWidth(0.05) <= 0.1 * n * n);
+	}
+
+	/**
+	 * samplesNeeded() is the smallest number of samples whose interval is narrow enough
+	 */
+	@Test
+	public void testSamplesNeeded() {
+		Random rand = new Random(20);
+		int[] a1 = randomArray(rand, 1000, 100), a2 = randomArray(rand, 1000, 100), a3 = randomArray(rand, 1000, 100);
+		for (double epsilon : new double[] {0.5, 0.2, 0.1}) {
+			CollinearEstimator estimator = new CollinearEstimator(a1, a2, CollinearIndex.hashed(a3), new Random(21));
+			long needed = estimator.samplesNeeded(epsilon, 0.05);
+			estimator.sample(needed - 1);
+			assertTrue(estimator.halfWidth(0.05) > epsilon * 1000 * 1000);
+			estimator.sample(1);
+			assertTrue(estimator.halfWidth(0.05) <= epsilon * 1000 * 1000);
+		}
+	}
+
+	/**
+	 * The interval narrows as more samples are taken, until the count is computed exactly
+	 */
+	@Test
+	public void testProgressive() {
+		Random rand = new Random(16);
+		int[] a1 = randomArray(rand, 200, 50), a2 = randomArray(rand, 200, 50), a3 = randomArray(rand, 200, 50);
+		CollinearEstimator estimator = new CollinearEstimator(a1, a2, CollinearIndex.hashed(a3), new Random(17));
+		assertTrue(Double.isNaN(estimator.estimate()));
+		assertEquals(Double.POSITIVE_INFINITY, estimator.halfWidth(0.05), 0);
+
+		double width = Double.POSITIVE_INFINITY;
+		for (int round = 0; round < 5; round++) {
+			estimator.sample(1000);
+			assertTrue(estimator.halfWidth(0.05) < width);
+			width = estimator.halfWidth(0.05);
+		}
+		assertEquals(5000, estimator.samples());
+
+		estimator.sample(40000);
+		assertTrue(estimator.isExact());
+		assertEquals(Collinear.countCollinearHash(a1, a2, a3), estimator.estimate(), 0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testBadDelta() {
+		Collinear.estimateCollinear(new int[1], new int[1], new int[1], 0.1, 1, new Random(1));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testBadEpsilon() {
+		Collinear.estimateCollinear(new int[1], new int[1], new int[1], 0, 0.1, new Random(1));
+	}
+}
@@ -0,0 +1,84 @@
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.Random;
+
+/**
+ * Test class for CollinearIndex.java
+ *
+ * @author Jack O'Sullivan
+ * @version 29/09/18 13:40:27
+ */
+@RunWith(JUnit4.class)
+public class CollinearIndexTest {
+	private static int[] randomArray(Random rand, int n, int range) {
+		int[] a = new int[n];
+		for (int i = 0; i < n; i++) {
+			a[i] = rand.nextInt(2 * range + 1) - range;
+		}
+		return a;
+	}
+
+	@Test
+	public void testMultiplicity() {
+		int[] a3 = {4, Integer.MAX_VALUE, -2, 4, Integer.MIN_VALUE, 4, Integer.MAX_VALUE};
+		for (CollinearIndex index : new CollinearIndex[] { CollinearIndex.sorted(a3), CollinearIndex.hashed(a3) }) {
+			assertEquals(7, index.size());
+			assertEquals(3, index.multiplicity(4));
+			assertEquals(1, index.multiplicity(-2));
+			assertEquals(0, index.multiplicity(0));
+			assertEquals(2, index.multiplicity(Integer.MAX_VALUE));
+			assertEquals(1, index.multiplicity(Integer.MIN_VALUE));
+			assertEquals(3, index.maxMultiplicity());
+		}
+
+		assertEquals(0, CollinearIndex.sorted(new int[0]).multiplicity(0));
+		assertEquals(0, CollinearIndex.sorted(new int[0]).maxMultiplicity());
+		assertEquals(0, CollinearIndex.hashed(new int[0]).maxMultiplicity());
+	}
+
+	/**
+	 * Check that a single index gives the same results as the brute force implementation for many
+	 * batches, and that no array is modified
+	 */
+	@Test
+	public void testBatches() {
+		Random rand = new Random(2017);
+		int[] a3 = randomArray(rand, 50, 30);
+		int[] original = a3.clone();
+		CollinearIndex sorted = CollinearIndex.sorted(a3);
+		CollinearIndex hashed = CollinearIndex.hashed(a3);
+
+		for (int batch = 0; batch < 20; batch++) {
+			int[] a1 = randomArray(rand, rand.nextInt(50), 30);
+			int[] a2 = randomArray(rand, rand.nextInt(50), 30);
+			long expected = Collinear.countCollinear(a1, a2, a3);
+			assertEquals("sorted count()", expected, sorted.count(a1, a2));
+			assertEquals("hashed count()", expected, hashed.count(a1, a2));
+			assertEquals("sorted countParallel()", expected, sorted.countParallel(a1, a2, 2));
+			assertEquals("hashed countParallel()", expected, hashed.countParallel(a1, a2));
+		}
+		assertArrayEquals("a3 must not be modified", original, a3);
+	}
+
+	/**
+	 * Check the parallel count on input large enough to be split into many tasks
+	 */
+	@Test
+	public void testParallelLarge() {
+		Random rand = new Random(2018);
+		int[] a1 = randomArray(rand, 2000, 1000);
+		int[] a2 = randomArray(rand, 2000, 1000);
+		CollinearIndex index = CollinearIndex.sorted(randomArray(rand, 2000, 1000));
+		assertEquals(index.count(a1, a2), index.countParallel(a1, a2, 3));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testParallelInvalid() {
+		CollinearIndex.hashed(new int[0]).countParallel(new int[0], new int[0], -2);
+	}
+}
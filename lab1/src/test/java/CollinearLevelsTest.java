@@ -0,0 +1,165 @@
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Test class for CollinearLevels.java
+ *
+ * @author Jack O'Sullivan
+ * @version 13/10/18 13:21:56
+ */
+@RunWith(JUnit4.class)
+public class CollinearLevelsTest {
+	private static int[] randomArray(Random rand, int n, int range) {
+		int[] a = new int[n];
+		for (int i = 0; i < n; i++) {
+			a[i] = rand.nextInt(2 * range + 1) - range;
+		}
+		return a;
+	}
+
+	/**
+	 * Counts by checking every combination of one point per level, with BigInteger cross products
+	 */
+	private static long bruteForce(Map<Integer, int[]> levels, int[] ys) {
+		return bruteForce(levels, ys, new int[ys.length], 0);
+	}
+
+	private static long bruteForce(Map<Integer, int[]> levels, int[] ys, int[] xs, int l) {
+		if (l == ys.length) {
+			BigInteger dx = BigInteger.valueOf((long)xs[1] - xs[0]), dy = BigInteger.valueOf((long)ys[1] - ys[0]);
+			for (int m = 2; m < ys.length; m++) {
+				BigInteger lhs = BigInteger.valueOf((long)xs[m] - xs[0]).multiply(dy);
+				if (!lhs.equals(dx.multiply(BigInteger.valueOf((long)ys[m] - ys[0])))) {
+					return 0;
+				}
+			}
+			return 1;
+		}
+
+		long count = 0;
+		for (int x : levels.get(ys[l])) {
+			xs[l] = x;
+			count += bruteForce(levels, ys, xs, l + 1);
+		}
+		return count;
+	}
+
+	@Test
+	public void testThreeLines() {
+		int[] a1 = {10, -4, 2, 123, 2};
+		int[] a2 = {887, 4, 20, -8};
+		int[] a3 = {6, 30, 103, -12};
+		Map<Integer, int[]> levels = new HashMap<>();
+		levels.put(1, a1);
+		levels.put(2, a2);
+		levels.put(3, a3);
+		CollinearLevels engine = new CollinearLevels(levels);
+		assertEquals(4, engine.count(1, 2, 3));
+		assertEquals("The order of the levels doesn't matter", 4, engine.count(3, 1, 2));
+		assertEquals("Any two points are collinear", 20, engine.count(1, 2));
+		assertEquals(5, engine.size(1));
+		assertEquals(0, engine.size(4));
+
+		Random rand = new Random(16);
+		for (int t = 0; t < 50; t++) {
+			int n = 1 + rand.nextInt(60);
+			int range = 1 + rand.nextInt(40);
+			levels.put(1, randomArray(rand, n, range));
+			levels.put(2, randomArray(rand, n, range));
+			levels.put(3, randomArray(rand, n, range));
+			engine = new CollinearLevels(levels);
+			assertEquals(Collinear.countCollinearCompressed(levels.get(1), levels.get(2), levels.get(3)),
+					engine.count(1, 2, 3));
+		}
+	}
+
+	/**
+	 * Levels at arbitrary heights, including ones far enough apart to need BigInteger
+	 */
+	@Test
+	public void testArbitraryLevels() {
+		Random rand = new Random(17);
+		int[][] heights = {
+				{-5, 0, 7, 100},
+				{3, -9, 12, 6, 0},
+				{Integer.MIN_VALUE, 0, Integer.MAX_VALUE},
+				{-1, Integer.MAX_VALUE, 1}
+		};
+		for (int[] ys : heights) {
+			for (int t = 0; t < 10; t++) {
+				Map<Integer, int[]> levels = new HashMap<>();
+				for (int y : ys) {
+					// Multiples of a common step, so that there are some collinear points
+					int[] xs = randomArray(rand, 1 + rand.nextInt(8), 6);
+					for (int i = 0; i < xs.length; i++) {
+						xs[i] *= ys.length == 3 ? 300000000 : 1;
+					}
+					levels.put(y, xs);
+				}
+				CollinearLevels engine = new CollinearLevels(levels);
+				assertEquals(bruteForce(levels, ys), engine.count(ys));
+			}
+		}
+	}
+
+	/**
+	 * A line through collinear points spread across 4 levels, so that the count is known
+	 */
+	@Test
+	public void testKnownLine() {
+		Map<Integer, int[]> levels = new HashMap<>();
+		// The line x = 3y + 1, with a duplicate on y=10 and points off the line
+		levels.put(0, new int[] {1, 2});
+		levels.put(10, new int[] {31, 31, 30});
+		levels.put(-4, new int[] {-11});
+		levels.put(1000000, new int[] {3000001, 0});
+		CollinearLevels engine = new CollinearLevels(levels);
+		assertEquals(2, engine.count(0, 10, -4, 1000000));
+		assertEquals(2, engine.countParallel(0, 10, -4, 1000000));
+	}
+
+	@Test
+	public void testParallel() {
+		Random rand = new Random(18);
+		Map<Integer, int[]> levels = new HashMap<>();
+		for (int y = 0; y < 5; y++) {
+			levels.put(y * y, randomArray(rand, 3000, 3000));
+		}
+		CollinearLevels engine = new CollinearLevels(levels);
+		long expected = engine.count(0, 1, 4, 16);
+		for (int parallelism : new int[] { 1, 4, -1 }) {
+			assertEquals(expected, engine.countParallel(new int[] {0, 1, 4, 16}, parallelism));
+		}
+		assertEquals(engine.count(1, 9), engine.countParallel(1, 9));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testTooFewLevels() {
+		Map<Integer, int[]> levels = new HashMap<>();
+		levels.put(1, new int[] {1});
+		new CollinearLevels(levels).count(1);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testRepeatedLevel() {
+		Map<Integer, int[]> levels = new HashMap<>();
+		levels.put(1, new int[] {1});
+		levels.put(2, new int[] {1});
+		new CollinearLevels(levels).count(1, 2, 1);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testUnknownLevel() {
+		Map<Integer, int[]> levels = new HashMap<>();
+		levels.put(1, new int[] {1});
+		new CollinearLevels(levels).count(1, 2);
+	}
+}
@@ -1,12 +1,19 @@
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
 
+import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Random;
+import java.util.Scanner;
 import java.util.concurrent.Callable;
 
 // If XChart library is available
@@ -38,6 +45,13 @@ public class CollinearTest {
 	private static void testBoth(int expectedResult, int[] a1, int[] a2, int[] a3) {
 		assertEquals(methodCall(false, a1, a2, a3), expectedResult, Collinear.countCollinear(a1, a2, a3));
 		assertEquals(methodCall(true, a1, a2, a3), expectedResult, Collinear.countCollinearFast(a1, a2, a3));
+		assertEquals("countCollinearVector", expectedResult, Collinear.countCollinearVector(a1, a2, a3));
+		assertEquals("countCollinearHash", expectedResult, Collinear.countCollinearHash(a1, a2, a3));
+		assertEquals("countCollinearParallel", expectedResult, Collinear.countCollinearParallel(a1, a2, a3, 2));
+		assertEquals("countCollinearSweep", expectedResult, Collinear.countCollinearSweep(a1, a2, a3));
+		assertEquals("countCollinearConvolution", expectedResult, Collinear.countCollinearConvolution(a1, a2, a3));
+		assertEquals("countCollinearAuto", expectedResult, Collinear.countCollinearAuto(a1, a2, a3));
+		assertEquals("countCollinearCompressed", expectedResult, Collinear.countCollinearCompressed(a1, a2, a3));
 	}
 
 	@Test
@@ -77,6 +91,366 @@ public class CollinearTest {
 		testBoth(3, new int[] {10, -4, 2, 123}, new int[] {887, 4, 20, -8}, new int[] {6, 30, 103, -12});
 	}
 
+	/**
+	 * Check that duplicate values in a3 are counted once per occurrence
+	 */
+	@Test
+	public void testDuplicates() {
+		int[] a1 = {1, 1, 3};
+		int[] a2 = {2, 2};
+		int[] a3 = {3, 3, 3, 1};
+		assertEquals(14, Collinear.countCollinear(a1, a2, a3));
+		assertEquals(14, Collinear.countCollinearFast(a1, a2, a3.clone()));
+		assertEquals(14, Collinear.countCollinearVector(a1, a2, a3));
+		assertEquals(14, Collinear.countCollinearHash(a1, a2, a3));
+		assertEquals(14, Collinear.countCollinearSweep(a1, a2, a3));
+		assertEquals(14, Collinear.countCollinearConvolution(a1, a2, a3));
+		assertEquals(14, Collinear.countCollinearCompressed(a1, a2, a3));
+	}
+
+	/**
+	 * Compare against the brute force implementation on random (duplicate-heavy) input
+	 */
+	@Test
+	public void testHashRandom() {
+		Random rand = new Random(2010);
+		for (int run = 0; run < 20; run++) {
+			int[][] a = randomInput(rand, 1 + rand.nextInt(60), 1 + rand.nextInt(40));
+			assertEquals("countCollinearHash", Collinear.countCollinear(a[0], a[1], a[2]), Collinear.countCollinearHash(a[0], a[1], a[2]));
+		}
+	}
+
+	/**
+	 * Compare against the brute force implementation with lengths of a3 that are not a multiple of
+	 * the vector length (so that the scalar tail loop is used)
+	 */
+	@Test
+	public void testVectorRandom() {
+		Random rand = new Random(2016);
+		for (int n = 0; n < 40; n++) {
+			int[][] a = randomInput(rand, n, 10);
+			assertEquals("countCollinearVector (vectorized: " + Collinear.isVectorized() + ")",
+					Collinear.countCollinear(a[0], a[1], a[2]), Collinear.countCollinearVector(a[0], a[1], a[2]));
+		}
+	}
+
+	/**
+	 * Compare against the single-threaded hash implementation on input large enough to be split
+	 */
+	@Test
+	public void testParallelRandom() {
+		Random rand = new Random(2011);
+		int[][] a = randomInput(rand, 3000, 500);
+		long expected = Collinear.countCollinearHash(a[0], a[1], a[2]);
+		assertEquals("countCollinearParallel(4)", expected, Collinear.countCollinearParallel(a[0], a[1], a[2], 4));
+		assertEquals("countCollinearParallel(-1)", expected, Collinear.countCollinearParallel(a[0], a[1], a[2], -1));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testParallelInvalid() {
+		Collinear.countCollinearParallel(new int[0], new int[0], new int[0], 0);
+	}
+
+	/**
+	 * Compare against the brute force implementation on random input with duplicate runs in a1 and a3
+	 */
+	@Test
+	public void testSweepRandom() {
+		Random rand = new Random(2012);
+		for (int run = 0; run < 20; run++) {
+			int[][] a = randomInput(rand, 1 + rand.nextInt(60), 1 + rand.nextInt(40));
+			int[] a1 = a[0].clone();
+			assertEquals("countCollinearSweep", Collinear.countCollinear(a[0], a[1], a[2]), Collinear.countCollinearSweep(a[0], a[1], a[2]));
+			assertArrayEquals("countCollinearSweep must not modify a1", a1, a[0]);
+		}
+	}
+
+	/**
+	 * Compare against the brute force implementation on random input
+	 */
+	@Test
+	public void testConvolutionRandom() {
+		Random rand = new Random(2013);
+		for (int run = 0; run < 20; run++) {
+			int[][] a = randomInput(rand, 1 + rand.nextInt(60), 1 + rand.nextInt(400));
+			long expected = Collinear.countCollinear(a[0], a[1], a[2]);
+			assertEquals("countCollinearConvolution", expected, Collinear.countCollinearConvolution(a[0], a[1], a[2]));
+			assertEquals("countCollinearAuto", expected, Collinear.countCollinearAuto(a[0], a[1], a[2]));
+		}
+
+		// Large enough for countCollinearAuto() to choose the convolution
+		int[][] a = randomInput(rand, 2000, 100);
+		assertTrue(Collinear.autoConvolves(a[0], a[1], a[2]));
+		assertEquals("countCollinearAuto", Collinear.countCollinearHash(a[0], a[1], a[2]), Collinear.countCollinearAuto(a[0], a[1], a[2]));
+	}
+
+	/**
+	 * Check that countCollinearAuto() doesn't choose a convolution which needs far more memory
+	 * than the hash table, even when it would be faster
+	 */
+	@Test
+	public void testAutoBoundsMemory() {
+		Random rand = new Random(2014);
+		// A range of ~4M values, where the convolution would need ~300MB
+		int[][] a = randomInput(rand, 60000, 1 << 20);
+		assertFalse(Collinear.autoConvolves(a[0], a[1], a[2]));
+
+		// A dense range which is within the ceiling but too wide for the number of points
+		a = randomInput(rand, 20000, 200000);
+		assertFalse(Collinear.autoConvolves(a[0], a[1], a[2]));
+		a = randomInput(rand, 20000, 1 << 16);
+		assertTrue(Collinear.autoConvolves(a[0], a[1], a[2]));
+	}
+
+	/**
+	 * Check that the convolution is exact for counts larger than any of the NTT primes
+	 */
+	@Test
+	public void testConvolutionLargeCounts() {
+		int[] a1 = new int[100000];
+		int[] a3 = new int[100000];
+		Arrays.fill(a1, 7);
+		Arrays.fill(a3, 9);
+		assertEquals(10000000000L, Collinear.countCollinearConvolution(a1, new int[] {8}, a3));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testConvolutionRangeTooLarge() {
+		int[] a = {Integer.MIN_VALUE, Integer.MAX_VALUE};
+		assertFalse(Collinear.canConvolve(a, a));
+		Collinear.countCollinearConvolution(a, a, a);
+	}
+
+	/**
+	 * Compare against the brute force implementation on random input, with both few and many
+	 * distinct values in a3 relative to a1 (so that both the sweep and the hash table are used)
+	 */
+	@Test
+	public void testCompressedRandom() {
+		Random rand = new Random(2015);
+		for (int run = 0; run < 40; run++) {
+			int[][] a = randomInput(rand, 1 + rand.nextInt(60), 1 + rand.nextInt(40));
+			if (run % 2 == 0) {
+				for (int i = 0; i < a[0].length; i++) {
+					a[0][i] %= 3;
+				}
+			}
+			assertEquals("countCollinearCompressed", Collinear.countCollinear(a[0], a[1], a[2]), Collinear.countCollinearCompressed(a[0], a[1], a[2]));
+		}
+	}
+
+	/**
+	 * Check that the product of large multiplicities does not overflow
+	 */
+	@Test
+	public void testCompressedLargeCounts() {
+		int[] a = new int[100000];
+		assertEquals(1000000000000000L, Collinear.countCollinearCompressed(a, a, a));
+
+		CompressedInts c = CompressedInts.of(new int[] {5, -1, 5, 3, -1, 5});
+		assertEquals(3, c.distinct());
+		assertEquals(6, c.total());
+		assertEquals(-1, c.value(0));
+		assertEquals(2, c.count(0));
+		assertEquals(5, c.value(2));
+		assertEquals(3, c.count(2));
+	}
+
+	/**
+	 * Check that countCollinearCompressed() doesn't count points which are only collinear when
+	 * 2*x2 - x1 wraps around, unlike countCollinear() and countCollinearFast()
+	 */
+	@Test
+	public void testCompressedIntOverflow() {
+		// 2 * 2^30 wraps around to -2^31, so 0 + (-2^31) == 2 * 2^30 in int arithmetic
+		int[] a1 = {0, 1, 2};
+		int[] a2 = {1 << 30, 1};
+		int[] a3 = {Integer.MIN_VALUE, 1, 0};
+		assertEquals(3, Collinear.countCollinear(a1, a2, a3));
+		assertEquals(3, Collinear.countCollinearFast(a1, a2, a3));
+		assertEquals(2, Collinear.countCollinearCompressed(a1, a2, a3));
+		assertEquals(Collinear.countCollinearSweep(a1, a2, a3), Collinear.countCollinearCompressed(a1, a2, a3));
+	}
+
+	/**
+	 * Check that every strategy can be selected and agrees with the brute force implementation
+	 */
+	@Test
+	public void testStrategies() {
+		int[] a1 = {10, -4, 2, 123};
+		int[] a2 = {887, 4, 20, -8};
+		int[] a3 = {6, 30, 103, -12};
+		for (Collinear.Strategy strategy : Collinear.Strategy.values()) {
+			assertEquals(strategy.toString(), 3, Collinear.count(strategy, a1, a2, a3.clone()));
+		}
+	}
+
+	/**
+	 * Compare counting over memory-mapped files against countCollinearCompressed(), both for a
+	 * small range (convolved) and for values spread too far apart to convolve (counted in blocks)
+	 */
+	@Test
+	public void testMapped() throws IOException {
+		Random rand = new Random(13);
+		File[] files = new File[3];
+		try {
+			for (int l = 0; l < 3; l++) {
+				files[l] = File.createTempFile("line" + (l + 1), ".bin");
+			}
+			for (int t = 0; t < 20; t++) {
+				int[][] a = randomInput(rand, 1 + rand.nextInt(60), 1 + rand.nextInt(40));
+				if (t % 2 == 1) {
+					// Scaling every x preserves collinearity
+					for (int[] line : a) {
+						for (int i = 0; i < line.length; i++) {
+							line[i] *= 20000000;
+						}
+					}
+				}
+				for (int l = 0; l < 3; l++) {
+					MappedInts.write(files[l], a[l]);
+				}
+
+				long expected = Collinear.countCollinearCompressed(a[0], a[1], a[2]);
+				try (MappedInts m1 = MappedInts.open(files[0], 16); MappedInts m2 = MappedInts.open(files[1], 16);
+				     MappedInts m3 = MappedInts.open(files[2], 16)) {
+					assertEquals(expected, Collinear.countCollinear(m1, m2, m3));
+					assertEquals(expected, Collinear.countCollinear(m1, m2, m3, 7));
+				}
+			}
+		} finally {
+			for (File file : files) {
+				if (file != null) {
+					file.delete();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Counts over the memory-mapped files named by args and prints the count, for
+	 * testMappedBoundedHeap() to run in a JVM with a small heap.
+	 */
+	static class MappedCount {
+		public static void main(String[] args) throws IOException {
+			try (MappedInts m1 = MappedInts.open(new File(args[0])); MappedInts m2 = MappedInts.open(new File(args[1]));
+			     MappedInts m3 = MappedInts.open(new File(args[2]))) {
+				System.out.println(Collinear.countCollinear(m1, m2, m3));
+			}
+		}
+	}
+
+	/**
+	 * Count over memory-mapped files whose range is well within Convolution.MAX_LENGTH, but whose
+	 * convolution wouldn't fit in a 32MB heap, in a JVM with a 32MB heap
+	 */
+	@Test
+	public void testMappedBoundedHeap() throws IOException, InterruptedException {
+		Random rand = new Random(17);
+		int n = 3000;
+		int range = 1 << 21;
+		int[][] a = new int[3][n];
+		for (int i = 0; i < n; i++) {
+			a[0][i] = rand.nextInt(range);
+			a[1][i] = rand.nextInt(range);
+			a[2][i] = rand.nextInt(range);
+			if (i % 3 == 0) {
+				// Make some of the points collinear
+				a[2][i] = a[0][i] ^ (i & 2);
+				a[1][i] = (a[0][i] + a[2][i]) / 2;
+			}
+		}
+		assertTrue(2L * range > Collinear.MAPPED_CONVOLUTION_LENGTH && 2L * range <= Convolution.MAX_LENGTH);
+
+		File[] files = new File[3];
+		try {
+			List<String> command = new ArrayList<>(Arrays.asList(
+					new File(new File(System.getProperty("java.home"), "bin"), "java").getPath(),
+					"-Xmx32m", "-cp", System.getProperty("java.class.path"), MappedCount.class.getName()));
+			for (int l = 0; l < 3; l++) {
+				files[l] = File.createTempFile("line" + (l + 1), ".bin");
+				MappedInts.write(files[l], a[l]);
+				command.add(files[l].getPath());
+			}
+
+			Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+			StringBuilder output = new StringBuilder();
+			try (Scanner in = new Scanner(process.getInputStream(), "UTF-8")) {
+				while (in.hasNextLine()) {
+					output.append(in.nextLine()).append('\n');
+				}
+			}
+			assertEquals(output.toString(), 0, process.waitFor());
+			long expected = Collinear.countCollinearHash(a[0], a[1], a[2]);
+			assertTrue(expected >= n / 3);
+			assertEquals(expected + "\n", output.toString());
+		} finally {
+			for (File file : files) {
+				if (file != null) {
+					file.delete();
+				}
+			}
+		}
+	}
+
+	private static int[][] randomInput(Random rand, int n, int range) {
+		int[][] a = new int[3][n];
+		for (int[] line : a) {
+			for (int i = 0; i < n; i++) {
+				line[i] = rand.nextInt(2 * range + 1) - range;
+			}
+		}
+		return a;
+	}
+
+	/**
+	 * Compare the radix sort against Arrays.sort() for lengths on both sides of the insertion sort
+	 * cutoff, with negative numbers, extremes and duplicates
+	 */
+	@Test
+	public void testRadixSort() {
+		Random rand = new Random(2020);
+		int[] scratch = new int[5000];
+		for (int n : new int[] {0, 1, 2, Collinear.RADIX_CUTOFF - 1, Collinear.RADIX_CUTOFF, 1000, 5000}) {
+			int[] a = new int[n];
+			for (int i = 0; i < n; i++) {
+				switch (rand.nextInt(4)) {
+					case 0:
+						a[i] = rand.nextInt();
+						break;
+					case 1:
+						a[i] = rand.nextInt(100) - 50;
+						break;
+					default:
+						a[i] = rand.nextBoolean() ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+				}
+			}
+
+			int[] expected = a.clone();
+			Arrays.sort(expected);
+			int[] b = a.clone();
+			Collinear.radixSort(a);
+			assertArrayEquals("radixSort() of " + n + " elements", expected, a);
+			Collinear.radixSort(b, scratch);
+			assertArrayEquals("radixSort() of " + n + " elements with a scratch buffer", expected, b);
+		}
+
+		// Only the least significant byte differs, so all other passes are skipped
+		int[] a = new int[100];
+		for (int i = 0; i < a.length; i++) {
+			a[i] = 0x12345600 | (99 - i);
+		}
+		int[] expected = a.clone();
+		Arrays.sort(expected);
+		Collinear.radixSort(a);
+		assertArrayEquals("radixSort() with a single significant byte", expected, a);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testRadixSortScratchTooSmall() {
+		Collinear.radixSort(new int[100], new int[99]);
+	}
+
 	private static double average(long[] items) {
 		long average = 0;
 		for (long i : items) {
@@ -0,0 +1,151 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Test class for CollinearTriples.java
+ *
+ * @author Jack O'Sullivan
+ * @version 09/10/18 11:40:05
+ */
+@RunWith(JUnit4.class)
+public class CollinearTriplesTest {
+	/**
+	 * Collects triples, packed into longs (the test arrays are small enough for 20 bits each).
+	 */
+	private static class Collector implements TripleConsumer {
+		final List<Long> triples = Collections.synchronizedList(new ArrayList<Long>());
+
+		@Override
+		public void accept(int i, int j, int k) {
+			triples.add((long)i << 40 | (long)j << 20 | k);
+		}
+	}
+
+	private static List<Long> bruteForce(int[] a1, int[] a2, int[] a3) {
+		Collector expected = new Collector();
+		for (int i = 0; i < a1.length; i++) {
+			for (int j = 0; j < a2.length; j++) {
+				for (int k = 0; k < a3.length; k++) {
+					if (a1[i]*(2-3) + a2[j]*(3-1) + a3[k]*(1-2) == 0) {
+						expected.accept(i, j, k);
+					}
+				}
+			}
+		}
+		return expected.triples;
+	}
+
+	private static int[] randomArray(Random rand, int n, int range) {
+		int[] a = new int[n];
+		for (int i = 0; i < n; i++) {
+			a[i] = rand.nextInt(2 * range + 1) - range;
+		}
+		return a;
+	}
+
+	@Test
+	public void testForEach() {
+		int[] a1 = {10, -4, 2, 123};
+		int[] a2 = {887, 4, 20, -8};
+		int[] a3 = {6, 30, 103, -12};
+		Collector collector = new Collector();
+		Collinear.triples(a1, a2, a3).forEach(collector);
+		assertEquals(bruteForce(a1, a2, a3), collector.triples);
+		assertEquals(3, collector.triples.size());
+
+		collector = new Collector();
+		Collinear.triples(new int[0], a2, a3).forEach(collector);
+		Collinear.triples(a1, a2, new int[0]).forEach(collector);
+		assertEquals(0, collector.triples.size());
+	}
+
+	/**
+	 * Compare against a brute force enumeration, in the same order, with duplicates and overflow
+	 */
+	@Test
+	public void testRandom() {
+		Random rand = new Random(14);
+		for (int t = 0; t < 50; t++) {
+			int n = 1 + rand.nextInt(40);
+			int range = 1 + rand.nextInt(20);
+			int[] a1 = randomArray(rand, n, range), a2 = randomArray(rand, n, range), a3 = randomArray(rand, n, range);
+			if (t % 10 == 0) {
+				a1[0] = Integer.MIN_VALUE;
+				a2[0] = Integer.MAX_VALUE;
+			}
+
+			Collector collector = new Collector();
+			Collinear.triples(a1, a2, a3).forEach(collector);
+			assertEquals(bruteForce(a1, a2, a3), collector.triples);
+			assertEquals(Collinear.countCollinearHash(a1, a2, a3), collector.triples.size());
+		}
+	}
+
+	/**
+	 * Split cursors down to single pairs, advancing some of them part way through a run first
+	 */
+	@Test
+	public void testSplit() {
+		int[] a1 = {0, 0, 1, 2, 2};
+		int[] a2 = {1, 1, 2, 3};
+		int[] a3 = {2, 2, 3, 4, 4, 4, 3};
+		List<Long> expected = bruteForce(a1, a2, a3);
+
+		Collector collector = new Collector();
+		List<CollinearTriples.Cursor> cursors = new ArrayList<>();
+		cursors.add(Collinear.triples(a1, a2, a3).cursor());
+		while (!cursors.isEmpty()) {
+			CollinearTriples.Cursor cursor = cursors.remove(cursors.size() - 1);
+			cursor.tryAdvance(collector);
+			CollinearTriples.Cursor split = cursor.trySplit();
+			if (split == null) {
+				assertEquals(true, cursor.estimateSize() < 2);
+				cursor.forEachRemaining(collector);
+				assertFalse(cursor.tryAdvance(collector));
+			} else {
+				cursors.add(cursor);
+				cursors.add(split);
+			}
+		}
+
+		Collections.sort(collector.triples);
+		assertEquals(expected, collector.triples);
+	}
+
+	@Test
+	public void testParallel() {
+		Random rand = new Random(15);
+		int[] a1 = randomArray(rand, 400, 100), a2 = randomArray(rand, 400, 100), a3 = randomArray(rand, 400, 100);
+		List<Long> expected = bruteForce(a1, a2, a3);
+
+		for (int parallelism : new int[] { 1, 4, -1 }) {
+			Collector collector = new Collector();
+			Collinear.triples(a1, a2, a3).forEachParallel(collector, parallelism);
+			Collections.sort(collector.triples);
+			assertEquals(expected, collector.triples);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testBadParallelism() {
+		Collinear.triples(new int[1], new int[1], new int[1]).forEachParallel(new Collector(), 0);
+	}
+
+	@Test
+	public void testEmptyCursor() {
+		CollinearTriples.Cursor cursor = Collinear.triples(new int[0], new int[0], new int[0]).cursor();
+		assertNull(cursor.trySplit());
+		assertFalse(cursor.tryAdvance(new Collector()));
+		assertEquals(0, cursor.estimateSize());
+	}
+}
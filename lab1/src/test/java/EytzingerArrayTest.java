@@ -0,0 +1,65 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Test class for EytzingerArray.java
+ *
+ * @author Jack O'Sullivan
+ * @version 01/10/18 21:10:33
+ */
+@RunWith(JUnit4.class)
+public class EytzingerArrayTest {
+	@Test
+	public void testEmpty() {
+		EytzingerArray a = new EytzingerArray(new int[0]);
+		assertEquals(0, a.length());
+		assertFalse(a.contains(0));
+		assertEquals(0, a.count(0));
+	}
+
+	@Test
+	public void testExtremes() {
+		EytzingerArray a = new EytzingerArray(new int[] {Integer.MIN_VALUE, 0, Integer.MAX_VALUE, Integer.MAX_VALUE});
+		assertEquals(1, a.count(Integer.MIN_VALUE));
+		assertEquals(2, a.count(Integer.MAX_VALUE));
+		assertTrue(a.contains(0));
+		assertFalse(a.contains(1));
+	}
+
+	/**
+	 * Compare contains() and count() against a linear scan for every length up to 100 (so that the
+	 * tree is both complete and incomplete)
+	 */
+	@Test
+	public void testRandom() {
+		Random rand = new Random(2019);
+		for (int n = 1; n <= 100; n++) {
+			int[] sorted = new int[n];
+			for (int i = 0; i < n; i++) {
+				sorted[i] = rand.nextInt(20);
+			}
+			Arrays.sort(sorted);
+			EytzingerArray a = new EytzingerArray(sorted);
+
+			for (int x = -1; x <= 20; x++) {
+				int expected = 0;
+				for (int y : sorted) {
+					if (y == x) {
+						expected++;
+					}
+				}
+				assertEquals("count(" + x + ") in " + Arrays.toString(sorted), expected, a.count(x));
+				assertEquals("contains(" + x + ") in " + Arrays.toString(sorted), expected > 0, a.contains(x));
+				assertEquals("binarySearchCount(" + x + ") in " + Arrays.toString(sorted), expected, Collinear.binarySearchCount(sorted, x));
+			}
+		}
+	}
+}
@@ -0,0 +1,89 @@
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Test class for MappedInts.java
+ *
+ * @author Jack O'Sullivan
+ * @version 07/10/18 15:02:31
+ */
+@RunWith(JUnit4.class)
+public class MappedIntsTest {
+	@Test
+	public void testRoundTrip() throws IOException {
+		int[] a = {0, 1, -1, Integer.MAX_VALUE, Integer.MIN_VALUE, 0x01020304, 42, 7, -7, 1000};
+		File file = File.createTempFile("mapped", ".bin");
+		try {
+			MappedInts.write(file, a);
+			assertEquals("Written as 4 bytes per integer", 4 * a.length, file.length());
+
+			// A chunk size which doesn't divide the length, so that reads cross chunk boundaries
+			try (MappedInts m = MappedInts.open(file, 3)) {
+				assertEquals(a.length, m.length());
+				for (int i = 0; i < a.length; i++) {
+					assertEquals(a[i], m.get(i));
+				}
+
+				int[] dst = new int[4];
+				assertEquals(4, m.read(2, dst));
+				assertArrayEquals(Arrays.copyOfRange(a, 2, 6), dst);
+				assertEquals("Reads stop at the end of the file", 2, m.read(8, dst));
+				assertEquals(a[8], dst[0]);
+				assertEquals(a[9], dst[1]);
+				assertEquals(0, m.read(a.length, dst));
+			}
+		} finally {
+			file.delete();
+		}
+	}
+
+	@Test
+	public void testLittleEndian() throws IOException {
+		File file = File.createTempFile("mapped", ".bin");
+		try {
+			try (FileOutputStream out = new FileOutputStream(file)) {
+				out.write(new byte[] {0x04, 0x03, 0x02, 0x01});
+			}
+			try (MappedInts m = MappedInts.open(file)) {
+				assertEquals(0x01020304, m.get(0));
+			}
+		} finally {
+			file.delete();
+		}
+	}
+
+	@Test(expected = IOException.class)
+	public void testPartialInteger() throws IOException {
+		File file = File.createTempFile("mapped", ".bin");
+		try {
+			try (FileOutputStream out = new FileOutputStream(file)) {
+				out.write(new byte[] {1, 2, 3, 4, 5});
+			}
+			MappedInts.open(file).close();
+		} finally {
+			file.delete();
+		}
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testOutOfBounds() throws IOException {
+		File file = File.createTempFile("mapped", ".bin");
+		try {
+			MappedInts.write(file, new int[] {1, 2});
+			try (MappedInts m = MappedInts.open(file)) {
+				m.get(2);
+			}
+		} finally {
+			file.delete();
+		}
+	}
+}
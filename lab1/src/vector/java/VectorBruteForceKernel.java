@@ -0,0 +1,41 @@
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * This class implements the brute force search for collinear points with the (incubating)
+ * Vector API, comparing a whole vector of elements of a3 against the required x3 at once.
+ * <p>
+ * It lives in a separate source set since it requires Java 16+ and the jdk.incubator.vector
+ * module; Collinear only loads it if it is available at runtime.
+ *
+ * @author Jack O'Sullivan
+ * @version 27/09/18 19:33:48
+ */
+class VectorBruteForceKernel implements BruteForceKernel {
+	private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+	@Override
+	public long count(int[] a1, int[] a2, int[] a3) {
+		int bound = SPECIES.loopBound(a3.length);
+		long count = 0;
+		for (int x1 : a1) {
+			for (int x2 : a2) {
+				// x3 = 2*x2 - x1, wrapping around on overflow just as countCollinear() does
+				int x3 = 2*x2 - x1;
+				IntVector target = IntVector.broadcast(SPECIES, x3);
+
+				int k = 0;
+				for (; k < bound; k += SPECIES.length()) {
+					count += IntVector.fromArray(SPECIES, a3, k).compare(VectorOperators.EQ, target).trueCount();
+				}
+				for (; k < a3.length; k++) {
+					if (a3[k] == x3) {
+						count++;
+					}
+				}
+			}
+		}
+		return count;
+	}
+}